@@ -0,0 +1,28 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks with the allocation profiler <br>
+ * Adds <code>-prof gc</code> to the JMH options unless a profiler is given,
+ * so every result reports its allocation rate next to its time
+ * 
+ * @author Gareth Kmet
+ */
+public final class BenchmarkMain {
+	/**
+	 * No initializing
+	 */
+	private BenchmarkMain() {}
+
+	public static void main(String[] args) throws Exception {
+		List<String> options = new ArrayList<>(Arrays.asList(args));
+		if (!options.contains("-prof") && !options.contains("-lprof") && !options.contains("-h")) {
+			options.add("-prof");
+			options.add("gc");
+		}
+		org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+	}
+}
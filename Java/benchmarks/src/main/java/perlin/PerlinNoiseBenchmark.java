@@ -0,0 +1,66 @@
+package perlin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.Vectornf;
+
+/**
+ * Benchmarks a whole chunk of {@link PerlinNoise} across its settings <br>
+ * Each invocation generates the next chunk along x, so no generation reuses
+ * the corners of the last one
+ * 
+ * @author Gareth Kmet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PerlinNoiseBenchmark {
+	@Param({ "64", "256" })
+	public int psize;
+
+	@Param({ "1", "3" })
+	public int octaves;
+
+	@Param({ "2", "4" })
+	public int lacunarity;
+
+	@Param({ "1", "3" })
+	public int dimension;
+
+	private PerlinNoise<Vectornf> noise;
+	private float[] dst;
+	private int cx;
+
+	@Setup
+	public void setup() {
+		noise = new PerlinNoise<>(Vectornf.class, psize, Vectornf.genStandardVectors(dimension));
+		noise.setOctaves(octaves, lacunarity, 0.5f);
+		dst = new float[psize * psize * dimension];
+	}
+
+	@Benchmark
+	public Vectornf[][] perlin() {
+		return noise.perlin(42, cx++, 7, v -> {});
+	}
+
+	@Benchmark
+	public float[] perlinInto() {
+		noise.perlinInto(42, cx++, 7, dst, 0, PerlinLayout.INTERLEAVED);
+		return dst;
+	}
+}
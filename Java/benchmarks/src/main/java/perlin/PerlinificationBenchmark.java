@@ -0,0 +1,87 @@
+package perlin;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.Vector2f;
+import util.Vector2v;
+import util.Vectornf;
+
+/**
+ * Benchmarks the per-pixel kernels of {@link Perlinification#perlinAChunk}
+ * alone, with fixed influence vectors and no random generation
+ * 
+ * @author Gareth Kmet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PerlinificationBenchmark {
+	@Param({ "16", "64", "256" })
+	public int psize;
+
+	@Param({ "1", "3", "4" })
+	public int dimension;
+
+	private PerlinOctave oct;
+	private Vector2v<Vectornf>[] invecs;
+	private float[] floatInvecs;
+	private Vectornf[][] values;
+	private float[] dst;
+	private PerlinKernel kernel;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		oct = new PerlinOctave(0, psize, PerlinFade.QUINTIC);
+		invecs = new Vector2v[PerlinNoise.MASKS];
+		floatInvecs = new float[2 * PerlinNoise.MASKS * dimension];
+		Vectornf[] possibilities = Vectornf.genStandardVectors(dimension);
+		for (int m = 0; m < PerlinNoise.MASKS; m++) {
+			Vectornf e = possibilities[m % dimension];
+			Vector2f p = Vector2f.fromPolar(1, 0.7f + m);
+			invecs[m] = new Vector2v<>(e.scale(p.x), e.scale(p.y));
+			for (int k = 0; k < dimension; k++) {
+				floatInvecs[2 * m * dimension + k] = invecs[m].a.get(k);
+				floatInvecs[(2 * m + 1) * dimension + k] = invecs[m].b.get(k);
+			}
+		}
+		values = (Vectornf[][]) Array.newInstance(Vectornf.class, psize, psize);
+		dst = new float[psize * psize * dimension];
+		kernel = PerlinKernel.of(dimension);
+	}
+
+	@Benchmark
+	public Vectornf[][] vectors() {
+		Perlinification.perlinAChunk(invecs, oct, values, 0, 0, false, 0.5f);
+		return values;
+	}
+
+	@Benchmark
+	public float[] floats() {
+		Perlinification.perlinAChunk(floatInvecs, dimension, oct, dst, 0, psize * dimension, dimension, 1, false,
+				0.5f);
+		return dst;
+	}
+
+	@Benchmark
+	public float[] kernel() {
+		kernel.chunk(floatInvecs, oct, dst, 0, psize * dimension, dimension, 1, false, 0.5f);
+		return dst;
+	}
+}
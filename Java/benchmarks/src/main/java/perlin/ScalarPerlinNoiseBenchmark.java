@@ -0,0 +1,69 @@
+package perlin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.Vectornf;
+
+/**
+ * Benchmarks a whole chunk of {@link ScalarPerlinNoise} against the
+ * {@link PerlinNoise} of dimension 1 giving the same values <br>
+ * Each invocation generates the next chunk along x, so no generation reuses
+ * the corners of the last one
+ * 
+ * @author Gareth Kmet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScalarPerlinNoiseBenchmark {
+	@Param({ "64", "256" })
+	public int psize;
+
+	@Param({ "1", "3" })
+	public int octaves;
+
+	private PerlinNoise<Vectornf> vectors;
+	private ScalarPerlinNoise scalars;
+	private float[] dst;
+	private int cx;
+
+	@Setup
+	public void setup() {
+		vectors = new PerlinNoise<>(Vectornf.class, psize, Vectornf.genStandardVectors(1));
+		vectors.setOctaves(octaves, 2, 0.5f);
+		scalars = new ScalarPerlinNoise(psize, new float[] { 1 });
+		scalars.setOctaves(octaves, 2, 0.5f);
+		dst = new float[psize * psize];
+	}
+
+	@Benchmark
+	public Vectornf[][] vectors() {
+		return vectors.perlin(42, cx++, 7, v -> {});
+	}
+
+	@Benchmark
+	public float[][] scalars() {
+		return scalars.perlin(42, cx++, 7);
+	}
+
+	@Benchmark
+	public float[] scalarsInto() {
+		scalars.perlinInto(42, cx++, 7, dst, 0);
+		return dst;
+	}
+}
@@ -0,0 +1,102 @@
+package util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the random access of {@link Util#getRandomFloatAtIndex} and
+ * {@link Util#getRandomIntAtIndex} as the chunk moves away from the origin,
+ * and {@link Util#lerps}
+ * 
+ * @author Gareth Kmet
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UtilBenchmark {
+	/**
+	 * The state of the random access benchmarks
+	 */
+	@State(Scope.Thread)
+	public static class Indexed {
+		/**
+		 * The distance of the chunk <code>(distance, distance)</code> from
+		 * the origin, in chunks
+		 */
+		@Param({ "0", "16", "256", "4096" })
+		public int distance;
+
+		/**
+		 * The seeds a chunk of four octaves draws with,
+		 * <code>seed + octn</code>
+		 */
+		private final long[] seeds = new long[4];
+
+		private final Random random = new Random();
+		private int index, octave;
+
+		@Setup
+		public void setup() {
+			index = Util.pointToSpiral(distance, distance);
+			for (int octn = 0; octn < seeds.length; octn++) { seeds[octn] = 42 + octn; }
+		}
+
+		/**
+		 * @return the seed of the next octave
+		 */
+		long seed() {
+			octave = (octave + 1) & (seeds.length - 1);
+			return seeds[octave];
+		}
+	}
+
+	/**
+	 * The state of the lerp benchmark
+	 */
+	@State(Scope.Thread)
+	public static class Lerped {
+		@Param({ "1", "3", "8" })
+		public int dimension;
+
+		private Vectornf a, b;
+		private float t;
+
+		@Setup
+		public void setup() {
+			a = Vectornf.Const(dimension, 0.25f);
+			b = Vectornf.Const(dimension, -0.75f);
+		}
+	}
+
+	@Benchmark
+	public float getRandomFloatAtIndex(Indexed s) {
+		return Util.getRandomFloatAtIndex(s.index, s.random, s.seed(), 2 * (float) Math.PI);
+	}
+
+	@Benchmark
+	public int getRandomIntAtIndex(Indexed s) {
+		// Three possibilities, a bound which is not a power of two so draws
+		// can be rejected, found once per seed and kept after the warmup
+		return Util.getRandomIntAtIndex(s.index, s.random, s.seed(), 3);
+	}
+
+	@Benchmark
+	public Vectornf lerps(Lerped s) {
+		s.t = s.t >= 1 ? 0 : s.t + 0.01f;
+		return Util.lerps(s.a, s.b, s.t);
+	}
+}
@@ -0,0 +1,76 @@
+package util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the operations of {@link Vectornf} for several dimensions <br>
+ * The in place operations are paired with their inverse so the vectors stay
+ * bounded
+ * 
+ * @author Gareth Kmet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class VectornfBenchmark {
+	@Param({ "1", "2", "3", "4", "8" })
+	public int dimension;
+
+	private Vectornf a, b;
+
+	@Setup
+	public void setup() {
+		a = Vectornf.Const(dimension, 0.25f);
+		b = Vectornf.Const(dimension, -0.75f);
+	}
+
+	@Benchmark
+	public Vectornf add() {
+		return a.add(b);
+	}
+
+	@Benchmark
+	public Vectornf sub() {
+		return a.sub(b);
+	}
+
+	@Benchmark
+	public Vectornf scale() {
+		return a.scale(0.5f);
+	}
+
+	@Benchmark
+	public float dot() {
+		return a.dot(b);
+	}
+
+	@Benchmark
+	public Vectornf lerp() {
+		return a.lerp(b, 0.3f);
+	}
+
+	@Benchmark
+	public Vectornf iaddIsub() {
+		return a.iadd(b).isub(b);
+	}
+
+	@Benchmark
+	public Vectornf iscale() {
+		return a.iscale(1f);
+	}
+}
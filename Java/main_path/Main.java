@@ -10,6 +10,7 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
 import perlin.PerlinNoise;
+import perlin.ScalarPerlinNoise;
 import util.Vectornf;
 
 class Main {
@@ -27,8 +28,7 @@ class Main {
 	static PerlinNoise<Vectornf> p = new PerlinNoise<Vectornf>(Vectornf.class, PIXEL_SIZE,
 			Vectornf.genStandardVectors(3));
 	
-	static PerlinNoise<Vectornf> p2 = new PerlinNoise<Vectornf>(Vectornf.class, PIXEL_SIZE,
-			Vectornf.genStandardVectors(1));
+	static ScalarPerlinNoise p2 = new ScalarPerlinNoise(PIXEL_SIZE, new float[] { 1 });
 
 	static float max, min, mmax;
 
@@ -80,11 +80,11 @@ class Main {
 						min = Math.min(v.get(i), min);
 					}
 				});
-				Vectornf[][] pr2 = p2.perlin(seed, x, y, v->{});
+				float[][] pr2 = p2.perlin(seed, x, y);
 				pixs[x][y] = pr;
 				for(int i=0; i<pr.length; i++) {
 					for(int j=0;j<pr[i].length; j++) {
-						pr[i][j].iscale(pr2[i][j].get(0));
+						pr[i][j].iscale(pr2[i][j]);
 					}
 				}
 			}
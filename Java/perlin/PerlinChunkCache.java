@@ -0,0 +1,265 @@
+package perlin;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.InnerProductFloatVectorSpace;
+
+/**
+ * A cache of generated chunks in front of {@link PerlinNoise#perlin} <br>
+ * Chunks are keyed by the seed, the chunk location and a fingerprint of the
+ * generating instance and its octaves, lacunarity, persistence and fade. The
+ * cache is bounded by an estimate of the bytes held by the chunks and evicts
+ * the least recently used chunks first
+ * <p>
+ * The cache holds its own copies of the grids, so a grid it returns can be
+ * modified without affecting later hits. The cache can be shared between
+ * threads and between instances
+ *
+ * @author     Gareth Kmet
+ *
+ * @param  <E>
+ *             The inner product space of the output vectors
+ */
+public final class PerlinChunkCache<E extends InnerProductFloatVectorSpace<E>> {
+	/**
+	 * The estimated bytes of a reference, an object header and an array
+	 * header
+	 */
+	private static final int REFERENCE = 4, OBJECT = 16, ARRAY = 16;
+
+	/**
+	 * The chunks in access order
+	 */
+	private final LinkedHashMap<ChunkKey, Entry<E>> chunks = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The maximal estimated bytes held
+	 */
+	private final long byteBudget;
+
+	/**
+	 * The estimated bytes currently held
+	 */
+	private long bytes = 0;
+
+	/**
+	 * The number of chunks found, missing and evicted
+	 */
+	private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+	/**
+	 * Generates an empty cache
+	 *
+	 * @param byteBudget
+	 *                   The maximal estimated bytes held by the cached chunks
+	 */
+	public PerlinChunkCache(long byteBudget) {
+		this.byteBudget = byteBudget;
+	}
+
+	/**
+	 * The settings of the generating instance which affect the output
+	 */
+	record Fingerprint(Object noise, int octaves, int lacunarity, float persistence, PerlinFade fade) {}
+
+	/**
+	 * Key of a chunk
+	 */
+	private record ChunkKey(Fingerprint fingerprint, long seed, int cx, int cy) {}
+
+	/**
+	 * A cached chunk and its estimated bytes
+	 */
+	private record Entry<E>(E[][] values, long bytes) {}
+
+	/**
+	 * Finds a cached chunk
+	 *
+	 * @param  fingerprint
+	 *                     The fingerprint of the generating instance
+	 * @param  seed
+	 *                     The seed of the chunk
+	 * @param  cx
+	 *                     The x position of the chunk
+	 * @param  cy
+	 *                     The y position of the chunk
+	 *
+	 * @return             A copy of the output vectors or <code>null</code> if
+	 *                     the chunk is not cached
+	 */
+	E[][] get(Fingerprint fingerprint, long seed, int cx, int cy) {
+		Entry<E> e;
+		synchronized (chunks) {
+			e = chunks.get(new ChunkKey(fingerprint, seed, cx, cy));
+		}
+		if (e == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return copy(e.values());
+	}
+
+	/**
+	 * Caches a chunk, evicting the least recently used chunks until the cache
+	 * fits in its budget <br>
+	 * A chunk larger than the whole budget is not cached
+	 *
+	 * @param fingerprint
+	 *                    The fingerprint of the generating instance
+	 * @param seed
+	 *                    The seed of the chunk
+	 * @param cx
+	 *                    The x position of the chunk
+	 * @param cy
+	 *                    The y position of the chunk
+	 * @param values
+	 *                    The output vectors, which are copied
+	 */
+	void put(Fingerprint fingerprint, long seed, int cx, int cy, E[][] values) {
+		long size = estimateBytes(values);
+		if (size > byteBudget) { return; }
+		values = copy(values);
+
+		synchronized (chunks) {
+			Entry<E> old = chunks.put(new ChunkKey(fingerprint, seed, cx, cy), new Entry<>(values, size));
+			bytes += size - (old == null ? 0 : old.bytes());
+
+			Iterator<Entry<E>> it = chunks.values().iterator();
+			while (bytes > byteBudget && it.hasNext()) {
+				bytes -= it.next().bytes();
+				it.remove();
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * Removes every chunk generated with a fingerprint
+	 *
+	 * @param fingerprint
+	 *                    The fingerprint of the outdated settings
+	 */
+	void invalidate(Fingerprint fingerprint) {
+		synchronized (chunks) {
+			Iterator<Map.Entry<ChunkKey, Entry<E>>> it = chunks.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<ChunkKey, Entry<E>> e = it.next();
+				if (e.getKey().fingerprint().equals(fingerprint)) {
+					bytes -= e.getValue().bytes();
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies a grid of vectors, each vector by {@link
+	 * InnerProductFloatVectorSpace#scale(float) scale(1)} which creates a new
+	 * vector with the same coordinates
+	 *
+	 * @param  <E>
+	 *                The inner product space of the vectors
+	 * @param  values
+	 *                The grid
+	 *
+	 * @return        The copy
+	 */
+	private static <E extends InnerProductFloatVectorSpace<E>> E[][] copy(E[][] values) {
+		E[][] copy = values.clone();
+		for (int i = 0; i < copy.length; i++) {
+			E[] row = copy[i] = copy[i].clone();
+			for (int j = 0; j < row.length; j++) { row[j] = row[j].scale(1); }
+		}
+		return copy;
+	}
+
+	/**
+	 * Estimates the bytes held by a grid of vectors <br>
+	 * Vectors with coordinates are counted as an object holding a float
+	 * array, others as a plain object
+	 *
+	 * @param  values
+	 *                The grid
+	 *
+	 * @return        The estimated bytes
+	 */
+	static long estimateBytes(InnerProductFloatVectorSpace<?>[][] values) {
+		long vector = OBJECT + REFERENCE;
+		int d = values[0][0].size();
+		if (d > 0) { vector += ARRAY + 4L * d; }
+		long bytes = ARRAY + (long) values.length * REFERENCE;
+		for (InnerProductFloatVectorSpace<?>[] row : values) {
+			bytes += ARRAY + (long) row.length * (REFERENCE + vector);
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return the number of chunks found in the cache
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of chunks missing from the cache
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of chunks evicted to fit in the budget
+	 */
+	public long evictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the estimated bytes currently held
+	 */
+	public long bytes() {
+		synchronized (chunks) {
+			return bytes;
+		}
+	}
+
+	/**
+	 * @return the maximal estimated bytes held
+	 */
+	public long byteBudget() {
+		return byteBudget;
+	}
+
+	/**
+	 * @return the number of chunks currently cached
+	 */
+	public int size() {
+		synchronized (chunks) {
+			return chunks.size();
+		}
+	}
+
+	/**
+	 * Removes every chunk and resets the counters
+	 */
+	public void clear() {
+		synchronized (chunks) {
+			chunks.clear();
+			bytes = 0;
+		}
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "PerlinChunkCache [size=" + size() + ", bytes=" + bytes() + "/" + byteBudget + ", hits=" + hits()
+				+ ", misses=" + misses() + ", evictions=" + evictions() + "]";
+	}
+}
@@ -0,0 +1,198 @@
+package perlin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.InnerProductFloatVectorSpace;
+
+/**
+ * Coalesces concurrent requests for the same chunk into a single generation
+ * <br>
+ * A request for a chunk which is already being generated, with the same seed,
+ * location and settings, waits for that generation instead of running its
+ * own. Every waiting request receives the same grid, which must not be
+ * modified
+ * <p>
+ * Each request gets its own future, a copy of the shared generation.
+ * Cancelling it only detaches that request, and the generation goes on for
+ * the others
+ * <p>
+ * Only the generations in flight are kept, a finished chunk is generated again
+ * by a later request. A {@link PerlinChunkCache} on the {@link PerlinNoise}
+ * keeps the finished chunks
+ *
+ * @author     Gareth Kmet
+ *
+ * @param  <E>
+ *             The inner product space of the output vectors
+ */
+public final class PerlinChunkCoalescer<E extends InnerProductFloatVectorSpace<E>> {
+	/**
+	 * The generating instance
+	 */
+	private final PerlinNoise<E> noise;
+
+	/**
+	 * The generations in flight
+	 */
+	private final ConcurrentHashMap<ChunkKey, CompletableFuture<E[][]>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of requests which generated their chunk and which joined
+	 * another generation
+	 */
+	private final LongAdder generated = new LongAdder(), coalesced = new LongAdder();
+
+	/**
+	 * Generates a coalescer in front of an instance
+	 *
+	 * @param noise
+	 *              The generating instance
+	 */
+	public PerlinChunkCoalescer(PerlinNoise<E> noise) {
+		this.noise = noise;
+	}
+
+	/**
+	 * Key of a chunk
+	 */
+	private record ChunkKey(PerlinChunkCache.Fingerprint fingerprint, long seed, int cx, int cy) {}
+
+	/**
+	 * Finds a chunk, generating it on the calling thread unless it is already
+	 * being generated
+	 *
+	 * @param  seed
+	 *              The seed to randomly generate influence vectors
+	 * @param  cx
+	 *              The x position of the chunk
+	 * @param  cy
+	 *              The y position of the chunk
+	 *
+	 * @return      A 2D grid of the output vectors, shared with the other
+	 *              requests
+	 */
+	public E[][] perlin(long seed, int cx, int cy) {
+		return join(request(seed, cx, cy, Runnable::run));
+	}
+
+	/**
+	 * Finds a chunk, generating it on an executor unless it is already being
+	 * generated
+	 *
+	 * @param  seed
+	 *                  The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                  The x position of the chunk
+	 * @param  cy
+	 *                  The y position of the chunk
+	 * @param  executor
+	 *                  The executor to run a new generation on
+	 *
+	 * @return          The future 2D grid of the output vectors, its own to
+	 *                  each request while the grid is shared
+	 *
+	 * @throws          RejectedExecutionException
+	 *                  if the executor rejects a new generation, which also
+	 *                  fails the requests that joined it
+	 */
+	public CompletableFuture<E[][]> perlinAsync(long seed, int cx, int cy, Executor executor) {
+		return request(seed, cx, cy, executor);
+	}
+
+	/**
+	 * Joins the generation in flight for a chunk or starts a new one
+	 *
+	 * @param  seed
+	 *                  The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                  The x position of the chunk
+	 * @param  cy
+	 *                  The y position of the chunk
+	 * @param  executor
+	 *                  The executor to run a new generation on
+	 *
+	 * @return          A copy of the future 2D grid of the output vectors,
+	 *                  which the caller may cancel on its own
+	 */
+	private CompletableFuture<E[][]> request(long seed, int cx, int cy, Executor executor) {
+		PerlinSettings s = noise.settings();
+		ChunkKey key = new ChunkKey(noise.fingerprint(s), seed, cx, cy);
+
+		CompletableFuture<E[][]> f = new CompletableFuture<>();
+		CompletableFuture<E[][]> existing = inFlight.putIfAbsent(key, f);
+		if (existing != null) {
+			coalesced.increment();
+			return existing.copy();
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					f.complete(noise.perlinCancellable(s, seed, cx, cy, null));
+				} catch (Throwable t) {
+					f.completeExceptionally(t);
+				} finally {
+					inFlight.remove(key, f);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Fail the requests which joined meanwhile, and let the next one retry
+			f.completeExceptionally(e);
+			inFlight.remove(key, f);
+			throw e;
+		}
+		generated.increment();
+		return f.copy();
+	}
+
+	/**
+	 * Waits for a future, rethrowing the exception of a failed generation
+	 *
+	 * @param  future
+	 *                The future
+	 *
+	 * @return        The result
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException r) { throw r; }
+			if (e.getCause() instanceof Error r) { throw r; }
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the number of requests which generated their chunk
+	 */
+	public long generated() {
+		return generated.sum();
+	}
+
+	/**
+	 * @return the number of requests which joined a generation in flight,
+	 *         the number of generations avoided
+	 */
+	public long coalesced() {
+		return coalesced.sum();
+	}
+
+	/**
+	 * @return the number of generations currently in flight
+	 */
+	public int inFlight() {
+		return inFlight.size();
+	}
+
+	@Override
+	public String toString() {
+		return "PerlinChunkCoalescer [inFlight=" + inFlight() + ", generated=" + generated() + ", coalesced="
+				+ coalesced() + "]";
+	}
+}
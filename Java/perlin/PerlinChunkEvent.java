@@ -0,0 +1,36 @@
+package perlin;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event spanning the generation of a chunk by
+ * {@link PerlinNoise} <br>
+ * Costs nothing beyond its allocation, which is usually eliminated, while no
+ * recording enables it
+ * 
+ * @author Gareth Kmet
+ */
+@Name("perlin.Chunk")
+@Label("Perlin Chunk")
+@Category("Perlin")
+@Description("Generation of a chunk")
+final class PerlinChunkEvent extends jdk.jfr.Event {
+	@Label("Seed")
+	long seed;
+
+	@Label("Chunk X")
+	int cx;
+
+	@Label("Chunk Y")
+	int cy;
+
+	@Label("Octaves")
+	int octaves;
+
+	@Label("Cached")
+	@Description("If the chunk was found in the chunk cache")
+	boolean cached;
+}
@@ -0,0 +1,253 @@
+package perlin;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import perlin.PerlinNoise.PerlinChunkLocation;
+import util.InnerProductFloatVectorSpace;
+
+/**
+ * Streams the chunks of a sequence of locations to a
+ * {@link Flow.Subscriber}, generating them with
+ * {@link PerlinNoise#perlin(long, int, int, java.util.function.Consumer)} on
+ * an executor <br>
+ * A chunk is only started once the subscriber has requested it, and at most
+ * <code>maxInFlight</code> chunks are generated or waiting to be delivered at
+ * once, so a slow subscriber throttles the generation instead of letting the
+ * finished chunks pile up
+ * <p>
+ * The chunks are delivered in the order of the locations. The locations are
+ * read lazily from the iterator, so the publisher accepts a single subscriber
+ * and an infinite iterator can be used. The executor should be bounded, such
+ * as a {@link java.util.concurrent.ForkJoinPool} or a fixed thread pool
+ *
+ * @author     Gareth Kmet
+ *
+ * @param  <E>
+ *             The inner product space of the output vectors
+ */
+public final class PerlinChunkPublisher<E extends InnerProductFloatVectorSpace<E>>
+		implements Flow.Publisher<PerlinChunkPublisher.PerlinChunk<E>> {
+	/**
+	 * The generating instance
+	 */
+	private final PerlinNoise<E> noise;
+
+	/**
+	 * The seed of every chunk
+	 */
+	private final long seed;
+
+	/**
+	 * The locations of the chunks
+	 */
+	private final Iterator<PerlinChunkLocation> chunks;
+
+	/**
+	 * The executor running the generation
+	 */
+	private final Executor executor;
+
+	/**
+	 * The maximal number of chunks generated or waiting to be delivered
+	 */
+	private final int maxInFlight;
+
+	/**
+	 * If the single subscriber has subscribed
+	 */
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	/**
+	 * Generates a publisher
+	 *
+	 * @param noise
+	 *                    The generating instance
+	 * @param seed
+	 *                    The seed of every chunk
+	 * @param chunks
+	 *                    The locations of the chunks, read lazily
+	 * @param executor
+	 *                    The executor running the generation
+	 * @param maxInFlight
+	 *                    The maximal number of chunks generated or waiting to
+	 *                    be delivered at once
+	 */
+	public PerlinChunkPublisher(PerlinNoise<E> noise, long seed, Iterator<PerlinChunkLocation> chunks,
+			Executor executor, int maxInFlight) {
+		if (maxInFlight < 1) { throw new IllegalArgumentException("maxInFlight must be positive"); }
+		this.noise = noise;
+		this.seed = seed;
+		this.chunks = chunks;
+		this.executor = executor;
+		this.maxInFlight = maxInFlight;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super PerlinChunk<E>> subscriber) {
+		if (subscribed.getAndSet(true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {}
+
+				@Override
+				public void cancel() {}
+			});
+			subscriber.onError(new IllegalStateException("the publisher accepts a single subscriber"));
+			return;
+		}
+		ChunkSubscription s = new ChunkSubscription(subscriber);
+		subscriber.onSubscribe(s);
+		s.drain();
+	}
+
+	/**
+	 * A generated chunk
+	 *
+	 * @author Gareth Kmet
+	 */
+	public record PerlinChunk<E>(PerlinChunkLocation location, E[][] values) {}
+
+	/**
+	 * A chunk being generated or waiting to be delivered
+	 */
+	private record Pending<E>(PerlinChunkLocation location, CompletableFuture<E[][]> values) {}
+
+	/**
+	 * The subscription of the single subscriber <br>
+	 * Every signal to the subscriber is sent from {@link #drain()}, which is
+	 * run by one thread at a time
+	 */
+	private final class ChunkSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super PerlinChunk<E>> subscriber;
+
+		/**
+		 * The chunks started in order, only accessed within {@link #drain()}
+		 */
+		private final ArrayDeque<Pending<E>> pending = new ArrayDeque<>();
+
+		/**
+		 * The requested chunks not yet delivered
+		 */
+		private final AtomicLong demand = new AtomicLong();
+
+		/**
+		 * The number of signals missed while draining
+		 */
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+		private boolean done;
+
+		ChunkSubscription(Flow.Subscriber<? super PerlinChunk<E>> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("non-positive request " + n);
+			} else {
+				demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain();
+		}
+
+		/**
+		 * Delivers the finished chunks in order, starts the chunks allowed
+		 * by the demand and the cap, and completes the subscriber once every
+		 * location is delivered <br>
+		 * A subscriber throwing from <code>onNext</code> is treated as having
+		 * cancelled, so the exception never leaves the drain loop
+		 */
+		void drain() {
+			if (wip.getAndIncrement() != 0) { return; }
+			int missed = 1;
+			do {
+				if (!done) { step(); }
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		/**
+		 * One pass of {@link #drain()}
+		 */
+		private void step() {
+			if (cancelled) {
+				stop();
+				return;
+			}
+			if (invalidRequest != null) {
+				stop();
+				subscriber.onError(invalidRequest);
+				return;
+			}
+
+			while (demand.get() > 0 && !pending.isEmpty() && pending.peek().values().isDone()) {
+				Pending<E> p = pending.poll();
+				E[][] values;
+				try {
+					values = p.values().join();
+				} catch (CompletionException e) {
+					stop();
+					subscriber.onError(e.getCause() == null ? e : e.getCause());
+					return;
+				}
+				demand.decrementAndGet();
+				try {
+					subscriber.onNext(new PerlinChunk<>(p.location(), values));
+				} catch (RuntimeException e) {
+					// A subscriber may not throw, so it is treated as having cancelled
+					cancelled = true;
+				}
+				if (cancelled) {
+					stop();
+					return;
+				}
+			}
+
+			boolean complete;
+			try {
+				while (pending.size() < maxInFlight && pending.size() < demand.get() && chunks.hasNext()) {
+					PerlinChunkLocation c = chunks.next();
+					CompletableFuture<E[][]> f = CompletableFuture
+							.supplyAsync(() -> noise.perlin(seed, c.cx(), c.cy(), v -> {}), executor);
+					pending.add(new Pending<>(c, f));
+					f.whenComplete((v, e) -> drain());
+				}
+				complete = pending.isEmpty() && !chunks.hasNext();
+			} catch (RuntimeException e) {
+				stop();
+				subscriber.onError(e);
+				return;
+			}
+			if (complete) {
+				done = true;
+				subscriber.onComplete();
+			}
+		}
+
+		/**
+		 * Drops the chunks in flight and stops every further signal
+		 */
+		private void stop() {
+			done = true;
+			for (Pending<E> p : pending) { p.values().cancel(false); }
+			pending.clear();
+		}
+	}
+}
@@ -0,0 +1,373 @@
+package perlin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import perlin.PerlinNoise.PerlinChunkLocation;
+import util.InnerProductFloatVectorSpace;
+
+/**
+ * Generates the chunks around a moving viewer, nearest first <br>
+ * Each {@link #update(float, float, float, float)} gives the position and
+ * velocity of the viewer, in chunks. The chunks within the radius of the
+ * viewer are needed and queued by their distance to it. The chunks within the
+ * radius plus the prefetch radius of the position the viewer is heading to,
+ * its position plus its velocity, are prefetched after the needed chunks
+ * <p>
+ * Chunks which leave both areas are dropped from the queue, or cancelled
+ * between two sub chunks if they are being generated. At most
+ * <code>maxRunning</code> chunks are generated at once, so the queue keeps
+ * deciding which chunk runs next. Finished chunks are handed to the sink once,
+ * and generated again only if they leave the areas and come back
+ *
+ * @author     Gareth Kmet
+ *
+ * @param  <E>
+ *             The inner product space of the output vectors
+ */
+public final class PerlinChunkScheduler<E extends InnerProductFloatVectorSpace<E>> {
+	private final PerlinNoise<E> noise;
+	private final long seed;
+	private final Executor executor;
+	private final BiConsumer<PerlinChunkLocation, E[][]> sink;
+
+	/**
+	 * The maximal number of chunks generated at once
+	 */
+	private final int maxRunning;
+
+	/**
+	 * The radius of the needed chunks and the width of the prefetched ring,
+	 * in chunks
+	 */
+	private final float radius, prefetch;
+
+	/**
+	 * The queued chunks, nearest first
+	 */
+	private final PriorityQueue<Task> queue = new PriorityQueue<>((a, b) -> Float.compare(a.priority, b.priority));
+
+	/**
+	 * The queued and running chunks
+	 */
+	private final Map<PerlinChunkLocation, Task> tasks = new HashMap<>();
+
+	/**
+	 * The delivered chunks still within the areas
+	 */
+	private final Set<PerlinChunkLocation> generated = new HashSet<>();
+
+	private int running = 0;
+
+	/**
+	 * The number of chunks delivered, dropped from the queue and cancelled
+	 * while running, and of the sub chunks generated and wasted by the
+	 * cancelled chunks
+	 */
+	private final LongAdder completed = new LongAdder(), dropped = new LongAdder(), cancelled = new LongAdder(),
+			subChunks = new LongAdder(), wastedSubChunks = new LongAdder();
+
+	/**
+	 * Generates a scheduler
+	 *
+	 * @param noise
+	 *                   The generating instance
+	 * @param seed
+	 *                   The seed of every chunk
+	 * @param executor
+	 *                   The executor running the generation
+	 * @param maxRunning
+	 *                   The maximal number of chunks generated at once
+	 * @param radius
+	 *                   The radius around the viewer of the needed chunks, in
+	 *                   chunks
+	 * @param prefetch
+	 *                   The width of the ring of prefetched chunks around the
+	 *                   position the viewer is heading to, in chunks
+	 * @param sink
+	 *                   Receives each generated chunk, from the thread which
+	 *                   generated it
+	 */
+	public PerlinChunkScheduler(PerlinNoise<E> noise, long seed, Executor executor, int maxRunning, float radius,
+			float prefetch, BiConsumer<PerlinChunkLocation, E[][]> sink) {
+		if (maxRunning < 1) { throw new IllegalArgumentException("maxRunning must be positive"); }
+		this.noise = noise;
+		this.seed = seed;
+		this.executor = executor;
+		this.maxRunning = maxRunning;
+		this.radius = radius;
+		this.prefetch = prefetch;
+		this.sink = sink;
+	}
+
+	/**
+	 * A queued or running chunk
+	 */
+	private final class Task {
+		final PerlinChunkLocation location;
+		float priority;
+		boolean started;
+		volatile boolean cancelled;
+
+		/**
+		 * The sub chunks generated so far, only accessed by the running
+		 * thread
+		 */
+		long done;
+
+		Task(PerlinChunkLocation location, float priority) {
+			this.location = location;
+			this.priority = priority;
+		}
+	}
+
+	/**
+	 * Moves the viewer, queuing the chunks entering the areas, dropping or
+	 * cancelling the chunks leaving them and reordering the queue
+	 *
+	 * @param x
+	 *           The x position of the viewer, in chunks
+	 * @param y
+	 *           The y position of the viewer, in chunks
+	 * @param vx
+	 *           The x distance the viewer is expected to move before the
+	 *           next update, in chunks
+	 * @param vy
+	 *           The y distance the viewer is expected to move before the
+	 *           next update, in chunks
+	 *
+	 * @throws   RejectedExecutionException
+	 *           if the executor rejects a chunk, which stays queued
+	 */
+	public void update(float x, float y, float vx, float vy) {
+		synchronized (this) {
+			requeue(x, y, vx, vy);
+		}
+		dispatch();
+	}
+
+	/**
+	 * Queues the chunks entering the areas, drops or cancels the chunks
+	 * leaving them and reorders the queue, while holding the lock
+	 *
+	 * @param x
+	 *           The x position of the viewer, in chunks
+	 * @param y
+	 *           The y position of the viewer, in chunks
+	 * @param vx
+	 *           The x distance the viewer is expected to move, in chunks
+	 * @param vy
+	 *           The y distance the viewer is expected to move, in chunks
+	 */
+	private void requeue(float x, float y, float vx, float vy) {
+		float ax = x + vx, ay = y + vy, far = radius + prefetch;
+		Map<PerlinChunkLocation, Float> wanted = new HashMap<>();
+		int x0 = (int) Math.floor(Math.min(x - radius, ax - far));
+		int x1 = (int) Math.ceil(Math.max(x + radius, ax + far));
+		int y0 = (int) Math.floor(Math.min(y - radius, ay - far));
+		int y1 = (int) Math.ceil(Math.max(y + radius, ay + far));
+		for (int cx = x0; cx <= x1; cx++) {
+			for (int cy = y0; cy <= y1; cy++) {
+				float near = distance(cx, cy, x, y), ahead = distance(cx, cy, ax, ay);
+				// Needed chunks by their distance, then prefetched chunks after them
+				if (near <= radius) {
+					wanted.put(new PerlinChunkLocation(cx, cy), near);
+				} else if (ahead <= far) {
+					wanted.put(new PerlinChunkLocation(cx, cy), radius + ahead);
+				}
+			}
+		}
+
+		generated.retainAll(wanted.keySet());
+		Iterator<Task> it = tasks.values().iterator();
+		while (it.hasNext()) {
+			Task t = it.next();
+			Float priority = wanted.get(t.location);
+			if (priority != null) {
+				t.priority = priority;
+			} else if (!t.started) {
+				it.remove();
+				dropped.increment();
+			} else {
+				t.cancelled = true;
+				it.remove();
+			}
+		}
+
+		List<Task> queued = new ArrayList<>(queue);
+		queued.removeIf(t -> tasks.get(t.location) != t);
+		for (Map.Entry<PerlinChunkLocation, Float> e : wanted.entrySet()) {
+			if (!tasks.containsKey(e.getKey()) && !generated.contains(e.getKey())) {
+				Task t = new Task(e.getKey(), e.getValue());
+				tasks.put(t.location, t);
+				queued.add(t);
+			}
+		}
+		queue.clear();
+		queue.addAll(queued);
+	}
+
+	/**
+	 * Returns the distance of a chunk center to a point
+	 */
+	private static float distance(int cx, int cy, float x, float y) {
+		float dx = cx + 0.5f - x, dy = cy + 0.5f - y;
+		return (float) Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * Starts the nearest queued chunks while fewer than
+	 * <code>maxRunning</code> run <br>
+	 * The chunks are taken under the lock and submitted after releasing it,
+	 * so an executor running them on the calling thread never holds the
+	 * lock while generating or calling the sink
+	 *
+	 * @throws RejectedExecutionException
+	 *                                    if the executor rejects a chunk,
+	 *                                    after queuing the chunks not
+	 *                                    submitted again
+	 */
+	private void dispatch() {
+		List<Task> starting = new ArrayList<>();
+		synchronized (this) {
+			while (running < maxRunning && !queue.isEmpty()) {
+				Task t = queue.poll();
+				t.started = true;
+				running++;
+				starting.add(t);
+			}
+		}
+
+		for (int i = 0; i < starting.size(); i++) {
+			Task t = starting.get(i);
+			try {
+				executor.execute(() -> run(t));
+			} catch (RejectedExecutionException e) {
+				synchronized (this) {
+					for (Task r : starting.subList(i, starting.size())) {
+						running--;
+						r.started = false;
+						// A chunk which left the areas meanwhile is dropped instead
+						if (tasks.get(r.location) == r) {
+							queue.add(r);
+						} else {
+							dropped.increment();
+						}
+					}
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Generates a chunk and hands it to the sink unless it was cancelled
+	 *
+	 * @param t
+	 *          The chunk
+	 */
+	private void run(Task t) {
+		E[][] values = null;
+		try {
+			PerlinChunkLocation c = t.location;
+			values = noise.perlinCancellable(seed, c.cx(), c.cy(), n -> {
+				t.done += n;
+				subChunks.add(n);
+				return t.cancelled;
+			});
+		} catch (CancellationException e) {
+			// counted below
+		} finally {
+			boolean deliver;
+			synchronized (this) {
+				running--;
+				deliver = values != null && !t.cancelled;
+				if (deliver) {
+					tasks.remove(t.location);
+					generated.add(t.location);
+				} else if (tasks.get(t.location) == t) {
+					tasks.remove(t.location);
+				}
+			}
+			try {
+				dispatch();
+			} finally {
+				if (deliver) {
+					completed.increment();
+					sink.accept(t.location, values);
+				} else if (t.cancelled) {
+					cancelled.increment();
+					wastedSubChunks.add(t.done);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of chunks waiting to be generated
+	 */
+	public synchronized int queueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * @return the number of chunks being generated
+	 */
+	public synchronized int running() {
+		return running;
+	}
+
+	/**
+	 * @return the number of chunks handed to the sink
+	 */
+	public long completed() {
+		return completed.sum();
+	}
+
+	/**
+	 * @return the number of chunks dropped from the queue before starting
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * @return the number of chunks cancelled while being generated
+	 */
+	public long cancelled() {
+		return cancelled.sum();
+	}
+
+	/**
+	 * @return the number of sub chunks generated
+	 */
+	public long subChunks() {
+		return subChunks.sum();
+	}
+
+	/**
+	 * @return the number of sub chunks generated by chunks which were then
+	 *         cancelled
+	 */
+	public long wastedSubChunks() {
+		return wastedSubChunks.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "PerlinChunkScheduler [queueDepth=" + queueDepth() + ", running=" + running() + ", completed="
+				+ completed() + ", dropped=" + dropped() + ", cancelled=" + cancelled() + ", subChunks="
+				+ subChunks() + ", wastedSubChunks=" + wastedSubChunks() + "]";
+	}
+}
@@ -0,0 +1,173 @@
+package perlin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import util.InnerProductFloatVectorSpace;
+import util.Vector2v;
+
+/**
+ * A bounded cache of the influence vectors of chunk corners <br>
+ * Every corner of the lattice is shared by four chunks, and at each octave by
+ * four sibling sub chunks. The cache keeps the influence vector of a corner,
+ * keyed by the seed, octave level and lattice location, so that it is only
+ * generated once while it stays in the cache
+ * <p>
+ * The cache is split into segments, each evicting its least recently used
+ * corner once full, so that it can be shared between threads. It relies on
+ * the {@link Perlinification.PerlinInfluenceGenerator} returning the same
+ * value for equal spiral indices
+ *
+ * @author     Gareth Kmet
+ *
+ * @param  <E>
+ *             The inner product space of the influence vectors
+ */
+public final class PerlinCornerCache<E extends InnerProductFloatVectorSpace<E>> {
+	/**
+	 * The number of independently locked segments
+	 */
+	private static final int SEGMENTS = 16;
+
+	/**
+	 * The segments, each a map in access order
+	 */
+	private final List<Map<CornerKey, Vector2v<E>>> segments;
+
+	/**
+	 * The number of corners found in and missing from the cache
+	 */
+	private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+	/**
+	 * The maximal number of corners kept
+	 */
+	private final int capacity;
+
+	/**
+	 * Generates an empty cache
+	 *
+	 * @param capacity
+	 *                 The maximal number of corners kept, rounded up to a
+	 *                 multiple of the number of segments
+	 */
+	public PerlinCornerCache(int capacity) {
+		int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+		this.capacity = perSegment * SEGMENTS;
+		segments = new ArrayList<>(SEGMENTS);
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments.add(new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<CornerKey, Vector2v<E>> eldest) {
+					return size() > perSegment;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Key of a corner
+	 */
+	private record CornerKey(long seed, int octLevel, int x, int y) {}
+
+	/**
+	 * Finds the influence vector of a corner, generating and caching it if it
+	 * is missing <br>
+	 * The generation runs outside of the lock, so two threads may both
+	 * generate a missing corner
+	 *
+	 * @param  seed
+	 *                   The seed of the octave
+	 * @param  octLevel
+	 *                   The octave level
+	 * @param  x
+	 *                   The x location of the corner on the lattice of the
+	 *                   octave
+	 * @param  y
+	 *                   The y location of the corner on the lattice of the
+	 *                   octave
+	 * @param  generator
+	 *                   Generates the influence vector if it is missing
+	 *
+	 * @return           The influence vector
+	 */
+	Vector2v<E> get(long seed, int octLevel, int x, int y, Supplier<Vector2v<E>> generator) {
+		CornerKey key = new CornerKey(seed, octLevel, x, y);
+		Map<CornerKey, Vector2v<E>> segment = segments.get((key.hashCode() & 0x7FFFFFFF) % SEGMENTS);
+
+		Vector2v<E> v;
+		synchronized (segment) {
+			v = segment.get(key);
+		}
+		if (v != null) {
+			hits.increment();
+			return v;
+		}
+
+		misses.increment();
+		v = generator.get();
+		synchronized (segment) {
+			segment.put(key, v);
+		}
+		return v;
+	}
+
+	/**
+	 * @return the number of corners found in the cache
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of corners generated because they were missing
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of corners currently kept
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<CornerKey, Vector2v<E>> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the maximal number of corners kept
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Removes every corner and resets the counters
+	 */
+	public void clear() {
+		for (Map<CornerKey, Vector2v<E>> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "PerlinCornerCache [size=" + size() + ", capacity=" + capacity + ", hits=" + hits() + ", misses="
+				+ misses() + "]";
+	}
+}
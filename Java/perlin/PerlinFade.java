@@ -0,0 +1,44 @@
+package perlin;
+
+import util.Util;
+
+/**
+ * A smoothing function used to lerp between the corners of a chunk <br>
+ * The function is evaluated once per row and column of each octave and stored
+ * in the {@link PerlinOctave}, so its cost does not matter for the pixels
+ * 
+ * @author Gareth Kmet
+ */
+@FunctionalInterface
+public interface PerlinFade {
+	/**
+	 * The quintic function <code>6t^5 - 15t^4 + 10t^3</code>, which has a
+	 * continuous first and second derivative at the chunk edges, see
+	 * {@link Util#fade(float)} <br>
+	 * This is the default
+	 */
+	public static final PerlinFade QUINTIC = Util::fade;
+
+	/**
+	 * The cubic function <code>3t^2 - 2t^3</code>, which has a continuous
+	 * first derivative at the chunk edges
+	 */
+	public static final PerlinFade CUBIC = t -> t * t * (3 - 2 * t);
+
+	/**
+	 * The linear function <code>t</code>, which leaves kinks at the chunk
+	 * edges
+	 */
+	public static final PerlinFade LINEAR = t -> t;
+
+	/**
+	 * Smooths a linear proportion
+	 * 
+	 * @param  t
+	 *           The linear proportion between 0-1
+	 * 
+	 * @return   The smoothed proportion, <code>0</code> at <code>0</code> and
+	 *           <code>1</code> at <code>1</code>
+	 */
+	public float fade(float t);
+}
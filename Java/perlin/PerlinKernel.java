@@ -0,0 +1,122 @@
+package perlin;
+
+/**
+ * The float kernel of the perlin algorithm, specialised for a dimension of the
+ * influence vectors <br>
+ * A {@link PerlinNoise} picks its kernel once, from the dimension of its
+ * possibilities, so a kernel only ever runs one dimension. The dimensions 1 to
+ * 4 have hand-written kernels whose per-pixel math is straight-line code over
+ * local variables, other dimensions loop over the components. The kernel is
+ * called once per sub chunk, so an application using several dimensions only
+ * dispatches per sub chunk and never per pixel
+ * <p>
+ * The kernel runs the flat <code>float[]</code> outputs, and
+ * {@link PerlinNoise#perlin(long, int, int, java.util.function.Consumer)} of a
+ * {@link util.Vectornf} instance, which builds its vectors from the floats.
+ * The vector outputs of other spaces still call their vector operations for
+ * every pixel
+ *
+ * @author Gareth Kmet
+ */
+@FunctionalInterface
+interface PerlinKernel {
+	/**
+	 * The kernels of the dimensions 1 to 4
+	 */
+	static final PerlinKernel D1 = Perlinification::perlinARegion1, D2 = Perlinification::perlinARegion2,
+			D3 = Perlinification::perlinARegion3, D4 = Perlinification::perlinARegion4;
+
+	/**
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk, see
+	 * {@link Perlinification#perlinARegion(float[], int, PerlinOctave, int, int, int, int, int, float[], int, int, int, int, boolean, float)}
+	 *
+	 * @param invecs
+	 *                    The coordinates of the influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param x0
+	 *                    The first x of the rectangle
+	 * @param x1
+	 *                    The x after the rectangle
+	 * @param y0
+	 *                    The first y of the rectangle
+	 * @param y1
+	 *                    The y after the rectangle
+	 * @param step
+	 *                    The distance between two computed pixels
+	 * @param dst
+	 *                    The destination array
+	 * @param off
+	 *                    The index of the first component of pixel
+	 *                    <code>(x0,y0)</code>
+	 * @param xs
+	 *                    The distance between computed pixels of
+	 *                    consecutive <code>x</code>
+	 * @param ys
+	 *                    The distance between computed pixels of
+	 *                    consecutive <code>y</code>
+	 * @param cs
+	 *                    The distance between consecutive components
+	 * @param accumulate
+	 *                    If <code>true</code> the destination is scaled by the
+	 *                    persistence and added to the result, if
+	 *                    <code>false</code> it is overwritten
+	 * @param persistence
+	 *                    The persistence to scale the destination with
+	 */
+	void region(float[] invecs, PerlinOctave oct, int x0, int x1, int y0, int y1, int step, float[] dst, int off,
+			int xs, int ys, int cs, boolean accumulate, float persistence);
+
+	/**
+	 * Runs the perlin algorithm on the whole chunk
+	 *
+	 * @param invecs
+	 *                    The coordinates of the influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param dst
+	 *                    The destination array
+	 * @param off
+	 *                    The index of the first component of pixel
+	 *                    <code>(0,0)</code>
+	 * @param xs
+	 *                    The distance between pixels of consecutive
+	 *                    <code>x</code>
+	 * @param ys
+	 *                    The distance between pixels of consecutive
+	 *                    <code>y</code>
+	 * @param cs
+	 *                    The distance between consecutive components
+	 * @param accumulate
+	 *                    If the destination is scaled by the persistence and
+	 *                    added to the result
+	 * @param persistence
+	 *                    The persistence to scale the destination with
+	 */
+	default void chunk(float[] invecs, PerlinOctave oct, float[] dst, int off, int xs, int ys, int cs,
+			boolean accumulate, float persistence) {
+		int size = oct.psize();
+		region(invecs, oct, 0, size, 0, size, 1, dst, off, xs, ys, cs, accumulate, persistence);
+	}
+
+	/**
+	 * Returns the kernel of a dimension
+	 *
+	 * @param  d
+	 *           The dimension of the influence vectors
+	 *
+	 * @return   The hand-written kernel of the dimensions 1 to 4, or the
+	 *           looping kernel
+	 */
+	static PerlinKernel of(int d) {
+		switch (d) {
+			case 1: return D1;
+			case 2: return D2;
+			case 3: return D3;
+			case 4: return D4;
+		}
+		return (invecs, oct, x0, x1, y0, y1, step, dst, off, xs, ys, cs, accumulate, persistence) -> Perlinification
+				.perlinARegion(invecs, d, oct, x0, x1, y0, y1, step, dst, off, xs, ys, cs, accumulate, persistence);
+	}
+}
@@ -0,0 +1,200 @@
+package perlin;
+
+import java.util.Arrays;
+
+/**
+ * The raw octave layers of a chunk, generated by
+ * {@link PerlinNoise#perlinLayers(long, int, int, PerlinLayout)} <br>
+ * The persistence only weights the octaves against each other, so the layers
+ * are kept unweighted and recombined into the output with one weighted sum per
+ * float. Changing the persistence, or using custom per-octave amplitudes, does
+ * not run the perlin algorithm again, and raising the octave count only
+ * generates the new finer layers
+ * <p>
+ * The layers keep the lacunarity and fade of the settings they were generated
+ * with, later changes to the {@link PerlinNoise} do not affect them. Layer
+ * <code>l</code> is the octave of level <code>l</code>, where <code>0</code> is
+ * the main level, in the {@link PerlinLayout} of the layers
+ *
+ * @author Gareth Kmet
+ */
+public final class PerlinLayers {
+	/**
+	 * The generating instance
+	 */
+	private final PerlinNoise<?> noise;
+
+	/**
+	 * The seed and location of the chunk
+	 */
+	private final long seed;
+	private final int cx, cy;
+
+	/**
+	 * The memory layout of each layer
+	 */
+	private final PerlinLayout layout;
+
+	/**
+	 * The number of floats of each layer
+	 */
+	private final int size;
+
+	/**
+	 * The settings covering every generated layer
+	 */
+	private volatile PerlinSettings settings;
+
+	/**
+	 * The generated layers, replaced as a whole when layers are added
+	 */
+	private volatile float[][] layers = new float[0][];
+
+	PerlinLayers(PerlinNoise<?> noise, PerlinSettings settings, long seed, int cx, int cy, PerlinLayout layout,
+			int size) {
+		this.noise = noise;
+		this.settings = settings;
+		this.seed = seed;
+		this.cx = cx;
+		this.cy = cy;
+		this.layout = layout;
+		this.size = size;
+	}
+
+	/**
+	 * Generates the missing layers up to an octave count, keeping the
+	 * existing layers <br>
+	 * <b>Assertion:</b> the <code>psize</code> must be divisible by
+	 * <code>lacunarity^octave</code>
+	 *
+	 * @param octaves
+	 *                The number of layers needed
+	 */
+	public synchronized void ensureOctaves(int octaves) {
+		float[][] old = layers;
+		if (octaves <= old.length) { return; }
+
+		PerlinSettings s = settings;
+		if (octaves > s.octaves()) {
+			s = s.withOctaves(octaves);
+			settings = s;
+		}
+
+		float[][] n = Arrays.copyOf(old, octaves);
+		for (int l = old.length; l < octaves; l++) {
+			n[l] = new float[size];
+			noise.perlinLayerInto(s, seed, cx, cy, l, n[l], layout);
+		}
+		layers = n;
+	}
+
+	/**
+	 * Combines the layers with a persistence <br>
+	 * Gives the same values as
+	 * {@link PerlinNoise#perlinInto(long, int, int, float[], int, PerlinLayout)}
+	 * with these octaves and persistence
+	 *
+	 * @param octaves
+	 *                    The number of octaves combined, missing layers are
+	 *                    generated
+	 * @param persistence
+	 *                    The exponential strength of each octave
+	 * @param dst
+	 *                    The destination array
+	 * @param offset
+	 *                    The index of the first float written
+	 */
+	public void combine(int octaves, float persistence, float[] dst, int offset) {
+		float[][] l = layers(octaves, dst, offset);
+
+		// Horner from the finest octave, p = pixs + p * persistence
+		for (int i = 0; i < size; i++) {
+			float p = l[octaves - 1][i];
+			for (int o = octaves - 2; o >= 0; o--) { p = l[o][i] + p * persistence; }
+			dst[offset + i] = p;
+		}
+	}
+
+	/**
+	 * Combines the layers with custom amplitudes, the value of a float is the
+	 * sum of <code>amplitudes[l] * layer[l]</code>
+	 *
+	 * @param amplitudes
+	 *                   The amplitude of each octave, the octave count is its
+	 *                   length and missing layers are generated
+	 * @param dst
+	 *                   The destination array
+	 * @param offset
+	 *                   The index of the first float written
+	 */
+	public void combine(float[] amplitudes, float[] dst, int offset) {
+		int octaves = amplitudes.length;
+		float[][] l = layers(octaves, dst, offset);
+
+		for (int i = 0; i < size; i++) {
+			float p = 0;
+			for (int o = octaves - 1; o >= 0; o--) { p += amplitudes[o] * l[o][i]; }
+			dst[offset + i] = p;
+		}
+	}
+
+	/**
+	 * Returns the layers needed for a combination, generating the missing ones
+	 *
+	 * @param  octaves
+	 *                 The number of octaves combined
+	 * @param  dst
+	 *                 The destination array
+	 * @param  offset
+	 *                 The index of the first float written
+	 *
+	 * @return         The layers, of at least <code>octaves</code> layers
+	 */
+	private float[][] layers(int octaves, float[] dst, int offset) {
+		if (octaves < 1) { throw new IllegalArgumentException("at least one octave is needed"); }
+		if (offset < 0 || dst.length - offset < size) {
+			throw new IndexOutOfBoundsException("destination too small for a chunk of " + size + " floats");
+		}
+		ensureOctaves(octaves);
+		return layers;
+	}
+
+	/**
+	 * Returns a raw layer
+	 *
+	 * @param  octn
+	 *              The octave level
+	 *
+	 * @return      The layer, which must not be modified
+	 */
+	public float[] layer(int octn) {
+		return layers[octn];
+	}
+
+	/**
+	 * @return the number of generated layers
+	 */
+	public int octaves() {
+		return layers.length;
+	}
+
+	/**
+	 * @return the memory layout of each layer
+	 */
+	public PerlinLayout layout() {
+		return layout;
+	}
+
+	/**
+	 * @return the settings covering every generated layer
+	 */
+	PerlinSettings settings() {
+		return settings;
+	}
+
+	@Override
+	public String toString() {
+		return "PerlinLayers [seed=" + seed + ", cx=" + cx + ", cy=" + cy + ", octaves=" + octaves() + ", layout="
+				+ layout + "]";
+	}
+}
@@ -0,0 +1,59 @@
+package perlin;
+
+/**
+ * The memory layout of a flat <code>float[]</code> output of the
+ * {@link PerlinNoise} algorithm <br>
+ * A pixel <code>(x,y)</code> corresponds to <code>values[x][y]</code> of the
+ * grid returned by {@link PerlinNoise#perlin}, <code>d</code> is the dimension
+ * of the influence vectors and <code>k</code> the component
+ * <ul>
+ * <li><b>INTERLEAVED</b> - pixel-interleaved, component <code>k</code> of
+ * pixel <code>(x,y)</code> is at <code>(x * psize + y) * d + k</code></li>
+ * <li><b>PLANAR</b> - channel-planar, component <code>k</code> of pixel
+ * <code>(x,y)</code> is at <code>k * psize * psize + x * psize + y</code></li>
+ * </ul>
+ *
+ * @author Gareth Kmet
+ */
+public enum PerlinLayout {
+	INTERLEAVED, PLANAR;
+
+	/**
+	 * @param  width
+	 *                   The width and height of the output grid
+	 * @param  dimension
+	 *                   The dimension of the output vectors
+	 *
+	 * @return           The distance between two pixels of consecutive
+	 *                   <code>x</code>
+	 */
+	int xStride(int width, int dimension) {
+		return this == INTERLEAVED ? width * dimension : width;
+	}
+
+	/**
+	 * @param  width
+	 *                   The width and height of the output grid
+	 * @param  dimension
+	 *                   The dimension of the output vectors
+	 *
+	 * @return           The distance between two pixels of consecutive
+	 *                   <code>y</code>
+	 */
+	int yStride(int width, int dimension) {
+		return this == INTERLEAVED ? dimension : 1;
+	}
+
+	/**
+	 * @param  width
+	 *                   The width and height of the output grid
+	 * @param  dimension
+	 *                   The dimension of the output vectors
+	 *
+	 * @return           The distance between two consecutive components of a
+	 *                   pixel
+	 */
+	int componentStride(int width, int dimension) {
+		return this == INTERLEAVED ? 1 : width * width;
+	}
+}
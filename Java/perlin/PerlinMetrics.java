@@ -0,0 +1,121 @@
+package perlin;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase nanosecond counters of the generation of chunks <br>
+ * Set on a {@link PerlinNoise} with {@link PerlinNoise#setMetrics}, the
+ * counters cover {@link PerlinNoise#perlin(long, int, int, java.util.function.Consumer)},
+ * {@link PerlinNoise#perlinInto(long, int, int, float[], int, PerlinLayout)}
+ * and the layers. Each sub chunk is split into the phases
+ * <ul>
+ * <li><b>INFLUENCE</b> - generating the influence vectors of its corners,
+ * including the random replay, the {@link PerlinCornerCache} and the
+ * {@link Perlinification.PerlinInfluenceGenerator}</li>
+ * <li><b>KERNEL</b> - the per-pixel kernel, which computes the masks, lerps
+ * them and merges the octave in a single pass</li>
+ * </ul>
+ * Without metrics set, the generation reads no clock. The counters can be
+ * shared between instances and threads, polled with {@link #snapshot()} or
+ * exposed over JMX as a {@link PerlinMetricsMXBean}
+ *
+ * @author Gareth Kmet
+ */
+public final class PerlinMetrics implements PerlinMetricsMXBean {
+	/**
+	 * The phases of a sub chunk
+	 */
+	public enum Phase {
+		INFLUENCE, KERNEL
+	}
+
+	private final LongAdder chunks = new LongAdder(), chunkNanos = new LongAdder(), subChunks = new LongAdder();
+	private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+
+	/**
+	 * Generates zeroed counters
+	 */
+	public PerlinMetrics() {
+		for (int i = 0; i < phaseNanos.length; i++) { phaseNanos[i] = new LongAdder(); }
+	}
+
+	/**
+	 * A point in time copy of the counters
+	 *
+	 * @author Gareth Kmet
+	 */
+	public record Snapshot(long chunks, long chunkNanos, long subChunks, long influenceNanos, long kernelNanos) {}
+
+	/**
+	 * Adds the time of a phase of a sub chunk
+	 *
+	 * @param  phase
+	 *               The phase
+	 * @param  start
+	 *               The {@link System#nanoTime()} at the start of the phase
+	 *
+	 * @return       The {@link System#nanoTime()} at the end of the phase
+	 */
+	long phase(Phase phase, long start) {
+		long now = System.nanoTime();
+		phaseNanos[phase.ordinal()].add(now - start);
+		if (phase == Phase.KERNEL) { subChunks.increment(); }
+		return now;
+	}
+
+	/**
+	 * Adds the time of a chunk
+	 *
+	 * @param start
+	 *              The {@link System#nanoTime()} at the start of the chunk
+	 */
+	void chunk(long start) {
+		chunkNanos.add(System.nanoTime() - start);
+		chunks.increment();
+	}
+
+	/**
+	 * @return a copy of the counters
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(getChunks(), getChunkNanos(), getSubChunks(), getInfluenceNanos(), getKernelNanos());
+	}
+
+	@Override
+	public long getChunks() {
+		return chunks.sum();
+	}
+
+	@Override
+	public long getChunkNanos() {
+		return chunkNanos.sum();
+	}
+
+	@Override
+	public long getSubChunks() {
+		return subChunks.sum();
+	}
+
+	@Override
+	public long getInfluenceNanos() {
+		return phaseNanos[Phase.INFLUENCE.ordinal()].sum();
+	}
+
+	@Override
+	public long getKernelNanos() {
+		return phaseNanos[Phase.KERNEL.ordinal()].sum();
+	}
+
+	@Override
+	public void reset() {
+		chunks.reset();
+		chunkNanos.reset();
+		subChunks.reset();
+		for (LongAdder a : phaseNanos) { a.reset(); }
+	}
+
+	@Override
+	public String toString() {
+		return "PerlinMetrics " + snapshot();
+	}
+}
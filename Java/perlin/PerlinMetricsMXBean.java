@@ -0,0 +1,40 @@
+package perlin;
+
+/**
+ * The management interface of {@link PerlinMetrics}, to expose it over JMX
+ * with
+ * <code>ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name)</code>
+ * 
+ * @author Gareth Kmet
+ */
+public interface PerlinMetricsMXBean {
+	/**
+	 * @return the number of chunks generated or found in the cache
+	 */
+	public long getChunks();
+
+	/**
+	 * @return the nanoseconds spent on whole chunks
+	 */
+	public long getChunkNanos();
+
+	/**
+	 * @return the number of sub chunks generated
+	 */
+	public long getSubChunks();
+
+	/**
+	 * @return the nanoseconds spent generating influence vectors
+	 */
+	public long getInfluenceNanos();
+
+	/**
+	 * @return the nanoseconds spent in the per-pixel kernels
+	 */
+	public long getKernelNanos();
+
+	/**
+	 * Resets every counter
+	 */
+	public void reset();
+}
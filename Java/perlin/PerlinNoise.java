@@ -1,16 +1,26 @@
 package perlin;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 
 import perlin.Perlinification.PerlinInfluenceGenerator;
+import util.CounterRandom;
+import util.IndexedRandom;
 import util.InnerProductFloatVectorSpace;
 import util.Util;
-import util.Vector2f;
 import util.Vector2v;
+import util.Vectornf;
 
 /**
  * Perlin Noise algorithm built for infinite chunk generation <br>
@@ -51,6 +61,11 @@ import util.Vector2v;
  * <p>
  * Also, it can be noted that this algorithm is continuous and differentiable at
  * all values
+ * <p>
+ * An instance can be shared between threads. The settings are replaced as an
+ * immutable {@link PerlinSettings} snapshot which each generation reads once,
+ * and the influence vectors are generated without shared mutable state. A
+ * custom {@link PerlinInfluenceGenerator} must be thread-safe itself
  * 
  * @author     Gareth Kmet
  * 
@@ -71,10 +86,52 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	public static final int MASKS = 4, TL = 0, TR = 1, BL = 2, BR = 3;
 
 	/**
-	 * The Random instance used by the Perlin Noise to generate chunk influence
-	 * vectors
+	 * The source of randomness for the influence vectors
+	 * <p>
+	 * <b>INDEXED</b> - Draws the i-th value of a {@link java.util.Random}
+	 * seeded per octave, where i is the spiral index of the corner. This is
+	 * the original behaviour, including the <code>int</code> spiral index of
+	 * {@link Util#pointToSpiral(int, int)} which wraps around beyond about
+	 * <code>23170</code> lattice units. A wrapped negative index gives the
+	 * angle <code>-1</code> as it always did, and picking one of several
+	 * possibilities for it throws {@link IllegalArgumentException} <br>
+	 * <b>INDEXED_WIDE</b> - Same as <b>INDEXED</b> with the <code>long</code>
+	 * spiral index of {@link Util#pointToSpiralLong(int, int)}, which gives the
+	 * same values wherever the <code>int</code> index does not wrap around and
+	 * keeps going beyond, up to <code>&plusmn;2^30</code> lattice units <br>
+	 * <b>HASHED</b> - Hashes the seed, octave and corner location with
+	 * {@link CounterRandom}. Uses no shared mutable state
+	 */
+	public enum RandomMode {
+		INDEXED, INDEXED_WIDE, HASHED;
+
+		/**
+		 * Returns the spiral index of a corner given to the
+		 * {@link PerlinInfluenceGenerator}
+		 * 
+		 * @param  x
+		 *           The x location of the corner on the lattice
+		 * @param  y
+		 *           The y location of the corner on the lattice
+		 * 
+		 * @return   The <code>long</code> index in <b>INDEXED_WIDE</b>, the
+		 *           <code>int</code> index otherwise
+		 */
+		long spiralIndex(int x, int y) {
+			return this == INDEXED_WIDE ? Util.pointToSpiralLong(x, y) : Util.pointToSpiral(x, y);
+		}
+	}
+
+	/**
+	 * The indexed random generator used by the Perlin Noise to generate chunk
+	 * influence vectors, <code>null</code> in {@link RandomMode#HASHED}
+	 */
+	private final IndexedRandom random;
+
+	/**
+	 * The source of randomness for the influence vectors
 	 */
-	private final Random random;
+	private final RandomMode randomMode;
 
 	/**
 	 * The class of the inner product space
@@ -82,43 +139,51 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	private final Class<? extends E> cls;
 
 	/**
-	 * The number of recursive algorithms the perlin noise will go through
+	 * The octaves, lacunarity, persistence, fade and octave data, replaced as
+	 * a whole whenever one of them changes
 	 */
-	private int octaves = 1;
+	private volatile PerlinSettings settings;
+
 	/**
-	 * The number of subdivisions of chunks per octave (width and height)
+	 * The fork-join parallelism used within a single chunk
 	 */
-	private int lacunarity = 1;
+	private volatile PerlinParallelism parallelism = PerlinParallelism.NONE;
+
 	/**
-	 * The exponential strength of each octave on the final result
+	 * The cache of corner influence vectors, <code>null</code> if disabled
 	 */
-	private float persistence = 0.5f;
+	private volatile PerlinCornerCache<E> cornerCache;
 
 	/**
-	 * Different {@link Vectornf} that the influence vectors can be
+	 * The cache of generated chunks, <code>null</code> if disabled
 	 */
-	private final E[] possibilities;
+	private volatile PerlinChunkCache<E> chunkCache;
 
 	/**
-	 * The amount of pixels that the chunk is wide and tall
+	 * The per-phase counters, <code>null</code> if disabled
 	 */
-	private final int psize;
+	private volatile PerlinMetrics metrics;
 
 	/**
-	 * The stored octave data
+	 * Different {@link Vectornf} that the influence vectors can be
 	 */
-	private PerlinOctave[] octaveDataSets = {};
+	private final E[] possibilities;
 
 	/**
-	 * Represents if it is necessary to run a random possibility search
+	 * The amount of pixels that the chunk is wide and tall
 	 */
-	private final boolean runPossibilities;
+	private final int psize;
 
 	/**
 	 * The generator for Influence Vectors for a given location
 	 */
 	private final PerlinInfluenceGenerator<E> influenceGenerator;
 
+	/**
+	 * The float kernel specialised for the dimension of the possibilities
+	 */
+	private final PerlinKernel kernel;
+
 	/**
 	 * Generates a new PerlinNoise algorithm instance with a set square pixel
 	 * size
@@ -150,13 +215,37 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 *                      methods if null
 	 */
 	public PerlinNoise(Class<? extends E> cls, int psize, E[] possibilities, PerlinInfluenceGenerator<E> influence) {
+		this(cls, psize, possibilities, influence, RandomMode.INDEXED);
+	}
+
+	/**
+	 * Generates a new PerlinNoise algorithm instance with a set square pixel
+	 * size
+	 * 
+	 * @param cls
+	 *                      The class of the inner product space
+	 * @param psize
+	 *                      The amount of pixels that the chunk is wide and
+	 *                      tall
+	 * @param possibilities
+	 *                      The set of influence vectors
+	 * @param influence
+	 *                      A {@link PerlinInfluenceGenerator}, uses the default
+	 *                      methods if null
+	 * @param randomMode
+	 *                      The source of randomness for the influence vectors
+	 */
+	public PerlinNoise(Class<? extends E> cls, int psize, E[] possibilities, PerlinInfluenceGenerator<E> influence,
+			RandomMode randomMode) {
 		this.cls = cls;
 		this.psize = psize;
-		random = new Random();
+		this.randomMode = randomMode;
+		random = randomMode != RandomMode.HASHED ? new IndexedRandom() : null;
 		this.possibilities = possibilities;
-		this.runPossibilities = possibilities.length > 1;
-		setOctaves(1, 1);
+		settings = PerlinSettings.of(psize, 1, 1, 0.5f, PerlinFade.QUINTIC);
 		influenceGenerator = influence == null ? this : influence;
+		// A space without coordinates has the dimension 0 and never runs a float kernel
+		kernel = PerlinKernel.of(possibilities[0].size());
 	}
 
 	/**
@@ -169,22 +258,9 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 * @param lacunarity
 	 *                   The number of subdivisions of chunks per octave
 	 */
-	public void setOctaves(int octaves, int lacunarity) {
-		/*
-		 * if(octaves==this.octaves && lacunarity==this.lacunarity) { return;
-		 * }else if(lacunarity==this.lacunarity || octaves == 1) {
-		 * setOctaves(octaves); return; }
-		 */
-		octaveDataSets = new PerlinOctave[octaves];
-
-		this.octaves = octaves;
-		this.lacunarity = lacunarity;
-		int psize = this.psize;
-		for (int i = 0; i < octaves; i++) {
-			octaveDataSets[i] = new PerlinOctave(i, psize);
-			psize /= lacunarity;
-		}
-
+	public synchronized void setOctaves(int octaves, int lacunarity) {
+		PerlinSettings s = settings;
+		setSettings(PerlinSettings.of(psize, octaves, lacunarity, s.persistence(), s.fade()));
 	}
 
 	/**
@@ -196,24 +272,9 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 *                The number of octaves to go through
 	 */
 	@Deprecated
-	public void setOctaves(int octaves) {
-		if (octaves == this.octaves) {
-			return;
-		} else if (octaves < this.octaves) {
-			PerlinOctave[] n = new PerlinOctave[octaves];
-			for (int i = 0; i < octaves; i++) { n[i] = octaveDataSets[i]; }
-			octaveDataSets = n;
-		} else {
-			PerlinOctave[] n = Arrays.copyOf(octaveDataSets, octaves);
-			int psize = octaveDataSets[octaveDataSets.length - 1].psize();
-			for (int i = this.octaves; i < octaves; i++) {
-				psize /= lacunarity;
-				n[i] = new PerlinOctave(i, psize);
-			}
-			octaveDataSets = n;
-		}
-
-		this.octaves = octaves;
+	public synchronized void setOctaves(int octaves) {
+		if (octaves == settings.octaves()) { return; }
+		setSettings(settings.withOctaves(octaves));
 	}
 
 	/**
@@ -224,10 +285,79 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 * @param lacunarity
 	 *                   The number of subdivisions of chunks per octave
 	 */
-	public void setLacunarity(int lacunarity) {
-		setOctaves(octaves, lacunarity);
+	public synchronized void setLacunarity(int lacunarity) {
+		setOctaves(settings.octaves(), lacunarity);
+	}
+
+	/**
+	 * Sets the smoothing function used to lerp between the corners of each
+	 * chunk. Rebuilds the octave data
+	 * 
+	 * @param fade
+	 *             The {@link PerlinFade}, {@link PerlinFade#QUINTIC} by
+	 *             default
+	 */
+	public synchronized void setFade(PerlinFade fade) {
+		PerlinSettings s = settings;
+		setSettings(PerlinSettings.of(psize, s.octaves(), s.lacunarity(), s.persistence(), fade));
+	}
+
+	/**
+	 * Sets the fork-join parallelism used within a single chunk <br>
+	 * The independent sub chunks of each octave are run as tasks in the pool.
+	 * Sub chunks smaller than the threshold are run sequentially. The output
+	 * does not change
+	 * 
+	 * @param pool
+	 *                  The pool to run the tasks in, or <code>null</code> to
+	 *                  run each chunk sequentially (the default)
+	 * @param threshold
+	 *                  The minimal width of a sub chunk, in pixels, for it to
+	 *                  be run as its own task
+	 */
+	public void setParallelism(ForkJoinPool pool, int threshold) {
+		parallelism = pool == null ? PerlinParallelism.NONE : new PerlinParallelism(pool, threshold);
 	}
 
+	/**
+	 * Sets the cache of corner influence vectors, which avoids generating the
+	 * corners shared by neighbouring chunks and sub chunks more than once
+	 * <br>
+	 * The cache wraps both the default methods and the
+	 * {@link PerlinInfluenceGenerator}. It must not be shared with another
+	 * instance, and should be cleared if the generator changes its results
+	 * 
+	 * @param cache
+	 *              The cache, or <code>null</code> to disable it (the
+	 *              default)
+	 */
+	public void setCornerCache(PerlinCornerCache<E> cache) { this.cornerCache = cache; }
+
+	/**
+	 * Sets the cache of generated chunks used by
+	 * {@link #perlin(long, int, int, Consumer)} <br>
+	 * The chunks are keyed by this instance and its settings, so the cache can
+	 * be shared with other instances. Changing the settings removes the
+	 * chunks generated with the previous settings
+	 * 
+	 * @param cache
+	 *              The cache, or <code>null</code> to disable it (the
+	 *              default)
+	 */
+	public void setChunkCache(PerlinChunkCache<E> cache) { this.chunkCache = cache; }
+
+	/**
+	 * Sets the per-phase nanosecond counters of the generation <br>
+	 * The Flight Recorder events <code>perlin.Chunk</code> and
+	 * <code>perlin.Octave</code> are emitted whenever a recording enables
+	 * them, independently of the counters
+	 * 
+	 * @param metrics
+	 *                The {@link PerlinMetrics}, or <code>null</code> to read
+	 *                no clock (the default)
+	 */
+	public void setMetrics(PerlinMetrics metrics) { this.metrics = metrics; }
+
 	/**
 	 * Sets the persistence of the algorithm
 	 * 
@@ -235,7 +365,7 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 *                    The exponential strength of each octave, should be
 	 *                    less than 1
 	 */
-	public void setPersistence(float persistence) { this.persistence = persistence; }
+	public synchronized void setPersistence(float persistence) { setSettings(settings.withPersistence(persistence)); }
 
 	/**
 	 * Sets the octaves, lacunarity, and persistence of the algorithm <br>
@@ -250,9 +380,23 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 *                    The exponential strength of each octave, should be
 	 *                    less than 1
 	 */
-	public void setOctaves(int octaves, int lacunarity, float persistence) {
-		setOctaves(octaves, lacunarity);
-		setPersistence(persistence);
+	public synchronized void setOctaves(int octaves, int lacunarity, float persistence) {
+		PerlinSettings s = settings;
+		setSettings(PerlinSettings.of(psize, octaves, lacunarity, persistence, s.fade()));
+	}
+
+	/**
+	 * Replaces the settings, invalidating the chunks generated with the
+	 * previous settings in the {@link PerlinChunkCache}
+	 * 
+	 * @param s
+	 *          The new settings
+	 */
+	private synchronized void setSettings(PerlinSettings s) {
+		PerlinChunkCache.Fingerprint old = fingerprint(settings);
+		settings = s;
+		PerlinChunkCache<E> cache = chunkCache;
+		if (cache != null && !old.equals(fingerprint(s))) { cache.invalidate(old); }
 	}
 
 	/**
@@ -270,79 +414,1075 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 *                  once for each vector that is found in the output grid
 	 * 
 	 * @return          {@link PerlinReturn} - a 2D grid of the output vectors
-	 *                  of the result
+	 *                  of the result. A {@link PerlinChunkCache} keeps its own
+	 *                  copy, so the grid may be modified
 	 */
 	public E[][] perlin(long seed, int cx, int cy, Consumer<E> consumer) {
-		PerlinOctave oct = octaveDataSets[0];
-		PerlinOctaveChunkData d = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+		E[][] values = perlinCancellable(seed, cx, cy, null);
 
-		@SuppressWarnings("unchecked")
-		E[][] values = (E[][]) Array.newInstance(cls, oct.psize(), oct.psize());
+		for (E[] row : values) {
+			for (E p : row) { consumer.accept(p); }
+		}
 
-		Vector2v<E>[] invecs = genInfluenceVectors(seed, d);
-		E[][] pixs = Perlinification.perlinAChunk(invecs, oct);
+		return values;
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code>, checking for cancellation between the sub chunks
+	 * 
+	 * @param  seed
+	 *                The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                The x position of the chunk
+	 * @param  cy
+	 *                The y position of the chunk
+	 * @param  cancel
+	 *                Tested with the number of sub chunks completed since
+	 *                its last test, returns <code>true</code> to cancel the
+	 *                chunk, or <code>null</code>
+	 * 
+	 * @return        A 2D grid of the output vectors of the result
+	 * 
+	 * @throws        CancellationException
+	 *                if the chunk was cancelled
+	 */
+	E[][] perlinCancellable(long seed, int cx, int cy, IntPredicate cancel) {
+		return perlinCancellable(settings, seed, cx, cy, cancel);
+	}
 
-		E[][] subOctPixs = null;
-		if (octaves > 1) { subOctPixs = perlinOctave(seed + 1, d); }
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code> with a snapshot of the settings, checking for
+	 * cancellation between the sub chunks
+	 * 
+	 * @param  s
+	 *                The settings of the generation
+	 * @param  seed
+	 *                The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                The x position of the chunk
+	 * @param  cy
+	 *                The y position of the chunk
+	 * @param  cancel
+	 *                Tested with the number of sub chunks completed since
+	 *                its last test, returns <code>true</code> to cancel the
+	 *                chunk, or <code>null</code>
+	 * 
+	 * @return        A 2D grid of the output vectors of the result
+	 * 
+	 * @throws        CancellationException
+	 *                if the chunk was cancelled
+	 */
+	E[][] perlinCancellable(PerlinSettings s, long seed, int cx, int cy, IntPredicate cancel) {
+		PerlinMetrics m = metrics;
+		long start = m == null ? 0 : System.nanoTime();
+		PerlinChunkEvent event = new PerlinChunkEvent();
+		event.begin();
 
-		for (int x = 0; x < oct.psize(); x++) {
-			for (int y = 0; y < oct.psize(); y++) {
-				E p = pixs[x][y];
-				if (subOctPixs != null) { p = p.add(subOctPixs[x][y].scale(persistence)); }
-				values[x][y] = p;
-				consumer.accept(p);
-			}
+		PerlinChunkCache<E> cache = chunkCache;
+		E[][] values = null;
+		PerlinChunkCache.Fingerprint fingerprint = null;
+		if (cache != null) {
+			fingerprint = fingerprint(s);
+			values = cache.get(fingerprint, seed, cx, cy);
+		}
+		boolean cached = values != null;
+		if (values == null) {
+			values = perlinChunk(s, seed, cx, cy, cancel);
+			if (cache != null) { cache.put(fingerprint, seed, cx, cy, values); }
 		}
 
+		if (m != null) { m.chunk(start); }
+		commit(event, s, seed, cx, cy, cached);
 		return values;
 	}
 
 	/**
-	 * Runs the perlin algorithm recursively on the suboctaves until there are
-	 * no more octaves
+	 * Commits a chunk event if a recording enables it
 	 * 
+	 * @param event
+	 *               The event, begun at the start of the chunk
+	 * @param s
+	 *               The settings of the generation
+	 * @param seed
+	 *               The seed of the chunk
+	 * @param cx
+	 *               The x position of the chunk
+	 * @param cy
+	 *               The y position of the chunk
+	 * @param cached
+	 *               If the chunk was found in the chunk cache
+	 */
+	private static void commit(PerlinChunkEvent event, PerlinSettings s, long seed, int cx, int cy, boolean cached) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.seed = seed;
+			event.cx = cx;
+			event.cy = cy;
+			event.octaves = s.octaves();
+			event.cached = cached;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Commits an octave event if a recording enables it
+	 * 
+	 * @param event
+	 *                  The event, begun at the start of the octave
+	 * @param seed
+	 *                  The seed of the main octave
+	 * @param main
+	 *                  The main level octave chunk data
+	 * @param octn
+	 *                  The octave level
+	 * @param subChunks
+	 *                  The number of sub chunks of the octave
+	 */
+	private static void commit(PerlinOctaveEvent event, long seed, PerlinOctaveChunkData main, int octn,
+			int subChunks) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.seed = seed;
+			event.cx = main.cx();
+			event.cy = main.cy();
+			event.octave = octn;
+			event.subChunks = subChunks;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code>
+	 * 
+	 * @param  s
+	 *                The settings of the generation
 	 * @param  seed
-	 *                The seed to generate random influence vectors
-	 * @param  parent
-	 *                The octave chunk data of the previous octave
+	 *                The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                The x position of the chunk
+	 * @param  cy
+	 *                The y position of the chunk
+	 * @param  cancel
+	 *                Tested with the number of sub chunks completed since
+	 *                its last test, or <code>null</code>
+	 * 
+	 * @return        A 2D grid of the output vectors of the result
 	 * 
-	 * @return        A 2D array with the output vectors for this octave. Size
-	 *                of the square array is equal to
-	 *                <code>oct(n-1).psize()</code>
+	 * @throws        CancellationException
+	 *                if the chunk was cancelled
 	 */
-	private E[][] perlinOctave(long seed, PerlinOctaveChunkData parent) {
-		int octn = parent.octLevel + 1;
+	private E[][] perlinChunk(PerlinSettings s, long seed, int cx, int cy, IntPredicate cancel) {
+		PerlinParallelism par = parallelism;
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
 
-		PerlinOctave oct = octaveDataSets[octn];
+		if (cls == Vectornf.class) {
+			// The float kernel computes the pixels, the vectors are made at the end
+			@SuppressWarnings("unchecked")
+			E[][] values = (E[][]) perlinChunkVectornf(s, par, seed, main, cancel);
+			return values;
+		}
 
 		@SuppressWarnings("unchecked")
-		E[][] values = (E[][]) new InnerProductFloatVectorSpace[oct.psize() * lacunarity][oct.psize() * lacunarity];
+		E[][] values = (E[][]) Array.newInstance(cls, psize, psize);
+
+		// Accumulate the octaves from the finest, p = pixs + p * persistence
+		for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+			PerlinOctave oct = s.octaveDataSets()[octn];
+			int n = psize / oct.psize();
+			PerlinOctaveEvent event = new PerlinOctaveEvent();
+			event.begin();
+			if (par.forks(oct) && n > 1) {
+				// The sub chunks of an octave write disjoint pixels
+				List<ForkJoinTask<?>> tasks = new ArrayList<>(n * n);
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < n; j++) {
+						int fi = i, fj = j, fn = octn;
+						tasks.add(ForkJoinTask.adapt(() -> perlinSubChunk(s, seed, main, fn, fi, fj, values)));
+					}
+				}
+				par.invokeAll(tasks);
+				if (cancel != null && cancel.test(n * n)) { throw new CancellationException("chunk cancelled"); }
+			} else {
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < n; j++) {
+						perlinSubChunk(s, seed, main, octn, i, j, values);
+						if (cancel != null && cancel.test(1)) { throw new CancellationException("chunk cancelled"); }
+					}
+				}
+			}
+			commit(event, seed, main, octn, n * n);
+		}
+
+		return values;
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk of {@link Vectornf} through
+	 * the float kernel <br>
+	 * Gives the same vectors as the generic algorithm, which calls the vector
+	 * operations of the possibilities for every pixel
+	 * 
+	 * @param  s
+	 *                The settings of the generation
+	 * @param  par
+	 *                The fork-join parallelism
+	 * @param  seed
+	 *                The seed of the main octave
+	 * @param  main
+	 *                The main level octave chunk data
+	 * @param  cancel
+	 *                Tested with the number of sub chunks completed since
+	 *                its last test, or <code>null</code>
+	 * 
+	 * @return        A 2D grid of the output vectors of the result
+	 * 
+	 * @throws        CancellationException
+	 *                if the chunk was cancelled
+	 */
+	private Vectornf[][] perlinChunkVectornf(PerlinSettings s, PerlinParallelism par, long seed,
+			PerlinOctaveChunkData main, IntPredicate cancel) {
+		int d = dimension();
+		float[] dst = new float[psize * psize * d], invecs = new float[2 * MASKS * d];
+		PerlinLayout layout = PerlinLayout.INTERLEAVED;
+		int xs = layout.xStride(psize, d), ys = layout.yStride(psize, d), cs = layout.componentStride(psize, d);
+
+		// Accumulate the octaves from the finest, p = pixs + p * persistence
+		for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+			perlinOctaveInto(s, par, seed, main, octn, invecs, d, dst, 0, xs, ys, cs, octn < s.octaves() - 1,
+					cancel);
+		}
+
+		Vectornf[][] values = new Vectornf[psize][psize];
+		for (int x = 0, i = 0; x < psize; x++) {
+			for (int y = 0; y < psize; y++, i += d) { values[x][y] = new Vectornf(Arrays.copyOfRange(dst, i, i + d)); }
+		}
+		return values;
+	}
+
+	/**
+	 * Runs the perlin algorithm on one sub chunk of an octave and accumulates
+	 * it into the output grid
+	 * 
+	 * @param s
+	 *               The settings of the generation
+	 * @param seed
+	 *               The seed of the main octave
+	 * @param main
+	 *               The main level octave chunk data
+	 * @param octn
+	 *               The octave level of the sub chunk
+	 * @param i
+	 *               The x position of the sub chunk within the main chunk
+	 * @param j
+	 *               The y position of the sub chunk within the main chunk
+	 * @param values
+	 *               The output grid of the main chunk
+	 */
+	private void perlinSubChunk(PerlinSettings s, long seed, PerlinOctaveChunkData main, int octn, int i, int j,
+			E[][] values) {
+		PerlinMetrics m = metrics;
+		long t = m == null ? 0 : System.nanoTime();
+
+		PerlinOctave oct = s.octaveDataSets()[octn];
+		PerlinOctaveChunkData c = s.octaveChunkData(main, octn, i, j);
+		Vector2v<E>[] invecs = genInfluenceVectors(seed + octn, c);
+		if (m != null) { t = m.phase(PerlinMetrics.Phase.INFLUENCE, t); }
+
+		Perlinification.perlinAChunk(invecs, oct, values, i * oct.psize(), j * oct.psize(), octn < s.octaves() - 1,
+				s.persistence());
+		if (m != null) { m.phase(PerlinMetrics.Phase.KERNEL, t); }
+	}
+
+	/**
+	 * Returns the current settings
+	 * 
+	 * @return The immutable {@link PerlinSettings} snapshot
+	 */
+	PerlinSettings settings() {
+		return settings;
+	}
+
+	/**
+	 * Returns the fingerprint of the settings for the {@link PerlinChunkCache}
+	 * 
+	 * @param  s
+	 *           The settings
+	 * 
+	 * @return   The fingerprint of this instance with the settings
+	 */
+	PerlinChunkCache.Fingerprint fingerprint(PerlinSettings s) {
+		return new PerlinChunkCache.Fingerprint(this, s.octaves(), s.lacunarity(), s.persistence(), s.fade());
+	}
 
-		for (int i = 0; i < lacunarity; i++) {
-			for (int j = 0; j < lacunarity; j++) {
-				int ocx = parent.cx * lacunarity + i;
-				int ocy = parent.cy * lacunarity + j;
-				PerlinOctaveChunkData thisC = new PerlinOctaveChunkData(octn, i, j, ocx, ocy, parent);
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code> and writes the output vectors into a flat array
+	 * <br>
+	 * Gives the same values as {@link #perlin(long, int, int, Consumer)}
+	 * without creating any vector per pixel. The influence vectors must
+	 * support {@link InnerProductFloatVectorSpace#size()} and
+	 * {@link InnerProductFloatVectorSpace#get(int)}
+	 * 
+	 * @param seed
+	 *               The seed to randomly generate influence vectors
+	 * @param cx
+	 *               The x position of the chunk
+	 * @param cy
+	 *               The y position of the chunk
+	 * @param dst
+	 *               The destination array, of at least
+	 *               <code>offset + psize * psize * d</code> floats where
+	 *               <code>d</code> is the dimension of the influence vectors
+	 * @param offset
+	 *               The index of the first float written
+	 * @param layout
+	 *               The {@link PerlinLayout} of the output
+	 */
+	public void perlinInto(long seed, int cx, int cy, float[] dst, int offset, PerlinLayout layout) {
+		int d = dimension();
+		if (offset < 0 || dst.length - offset < psize * psize * d) {
+			throw new IndexOutOfBoundsException("destination too small for a chunk of " + psize * psize * d + " floats");
+		}
+		int xs = layout.xStride(psize, d), ys = layout.yStride(psize, d), cs = layout.componentStride(psize, d);
+
+		PerlinMetrics m = metrics;
+		long start = m == null ? 0 : System.nanoTime();
+		PerlinChunkEvent event = new PerlinChunkEvent();
+		event.begin();
 
-				Vector2v<E>[] invecs = genInfluenceVectors(seed, thisC);
-				E[][] pixs = Perlinification.<E>perlinAChunk(invecs, oct);
+		PerlinSettings s = settings;
+		PerlinParallelism par = parallelism;
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+		float[] invecs = new float[2 * MASKS * d];
+
+		// Accumulate the octaves from the finest, p = pixs + p * persistence
+		for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+			perlinOctaveInto(s, par, seed, main, octn, invecs, d, dst, offset, xs, ys, cs, octn < s.octaves() - 1,
+					null);
+		}
+
+		if (m != null) { m.chunk(start); }
+		commit(event, s, seed, cx, cy, false);
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code> one row at a time <br>
+	 * Gives the same values as {@link #perlin(long, int, int, Consumer)}
+	 * while holding one row and the influence vectors of the sub chunks
+	 * crossing it, <code>O(psize * octaves)</code> floats, instead of the
+	 * whole chunk. The influence vectors must support
+	 * {@link InnerProductFloatVectorSpace#size()} and
+	 * {@link InnerProductFloatVectorSpace#get(int)}
+	 * 
+	 * @param seed
+	 *             The seed to randomly generate influence vectors
+	 * @param cx
+	 *             The x position of the chunk
+	 * @param cy
+	 *             The y position of the chunk
+	 * @param sink
+	 *             The {@link PerlinRowSink} receiving each row in order
+	 */
+	public void perlinRows(long seed, int cx, int cy, PerlinRowSink sink) {
+		int d = dimension();
+		PerlinSettings s = settings;
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
 
-				E[][] subOctPixs = null;
-				if (octn < octaves - 1) { subOctPixs = perlinOctave(seed + 1, thisC); }
+		// The influence vectors of the row of sub chunks crossing the current row
+		float[][][] invecs = new float[s.octaves()][][];
+		int[] subRow = new int[s.octaves()];
+		for (int octn = 0; octn < s.octaves(); octn++) {
+			invecs[octn] = new float[psize / s.octaveDataSets()[octn].psize()][2 * MASKS * d];
+			subRow[octn] = -1;
+		}
 
-				for (int x = 0; x < oct.psize(); x++) {
-					for (int y = 0; y < oct.psize(); y++) {
-						E p = pixs[x][y];
-						if (subOctPixs != null) { p = p.add(subOctPixs[x][y].scale(persistence)); }
-						values[i * oct.psize() + x][j * oct.psize() + y] = p;
+		float[] row = new float[psize * d];
+		for (int x = 0; x < psize; x++) {
+			// Accumulate the octaves from the finest, p = pixs + p * persistence
+			for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+				PerlinOctave oct = s.octaveDataSets()[octn];
+				int size = oct.psize(), i = x / size, u = x - i * size;
+				float[][] vecs = invecs[octn];
+				if (subRow[octn] != i) {
+					for (int j = 0; j < vecs.length; j++) {
+						genInfluenceVectors(seed + octn, s.octaveChunkData(main, octn, i, j), vecs[j], d);
 					}
+					subRow[octn] = i;
+				}
+
+				for (int j = 0; j < vecs.length; j++) {
+					kernel.region(vecs[j], oct, u, u + 1, 0, size, 1, row, j * size * d, 0, d, 1,
+							octn < s.octaves() - 1, s.persistence());
+				}
+			}
+			sink.accept(x, row);
+		}
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code> at a lower level of detail <br>
+	 * Only every <code>2^lod</code>-th pixel along each axis is computed, and
+	 * the octaves finer than that stride are skipped since they are zero on
+	 * every computed pixel. The vector at <code>[x][y]</code> equals the
+	 * vector at <code>[x * 2^lod][y * 2^lod]</code> of
+	 * {@link #perlin(long, int, int, Consumer)}. The chunk cache is not used
+	 * <p>
+	 * When octaves are skipped a zero coordinate is given as <code>0.0</code>,
+	 * the sign the skipped zeros give it at full resolution. Only where every
+	 * octave is <code>-0.0</code> at a pixel would full resolution keep the
+	 * <code>-0.0</code>
+	 * 
+	 * @param  seed
+	 *                  The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                  The x position of the chunk
+	 * @param  cy
+	 *                  The y position of the chunk
+	 * @param  lod
+	 *                  The level of detail, <code>0</code> for every pixel
+	 * @param  consumer
+	 *                  A consumer for each output vector
+	 * 
+	 * @return          A 2D grid of <code>psize / 2^lod</code> square of the
+	 *                  output vectors
+	 */
+	public E[][] perlin(long seed, int cx, int cy, int lod, Consumer<E> consumer) {
+		int st = lodStride(lod), w = psize / st;
+		PerlinSettings s = settings;
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+
+		@SuppressWarnings("unchecked")
+		E[][] values = (E[][]) Array.newInstance(cls, w, w);
+
+		int levels = lodOctaves(s, st);
+		for (int octn = levels - 1; octn >= 0; octn--) {
+			PerlinOctave oct = s.octaveDataSets()[octn];
+			int size = oct.psize(), n = psize / size;
+			for (int i = 0; i < n; i++) {
+				int x0 = Math.floorMod(-i * size, st);
+				if (x0 >= size) { continue; }
+				for (int j = 0; j < n; j++) {
+					int y0 = Math.floorMod(-j * size, st);
+					if (y0 >= size) { continue; }
+					Vector2v<E>[] invecs = genInfluenceVectors(seed + octn, s.octaveChunkData(main, octn, i, j));
+					Perlinification.perlinARegion(invecs, oct, x0, size, y0, size, st, values,
+							(i * size + x0) / st, (j * size + y0) / st, octn < levels - 1, s.persistence());
+				}
+			}
+		}
+
+		if (levels < s.octaves()) {
+			// Adding a positive zero turns -0.0 into the 0.0 the skipped octaves give
+			E zero = possibilities[0].sub(possibilities[0]);
+			for (E[] row : values) {
+				for (E p : row) { p.iadd(zero); }
+			}
+		}
+
+		for (E[] row : values) {
+			for (E p : row) { consumer.accept(p); }
+		}
+		return values;
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code> at a lower level of detail and writes the output
+	 * vectors into a flat array <br>
+	 * Gives the same values as {@link #perlin(long, int, int, int, Consumer)}
+	 * in the {@link PerlinLayout} of a chunk <code>psize / 2^lod</code> wide
+	 * 
+	 * @param seed
+	 *               The seed to randomly generate influence vectors
+	 * @param cx
+	 *               The x position of the chunk
+	 * @param cy
+	 *               The y position of the chunk
+	 * @param lod
+	 *               The level of detail, <code>0</code> for every pixel
+	 * @param dst
+	 *               The destination array, of at least
+	 *               <code>offset + (psize / 2^lod)^2 * d</code> floats
+	 * @param offset
+	 *               The index of the first float written
+	 * @param layout
+	 *               The {@link PerlinLayout} of the output
+	 */
+	public void perlinInto(long seed, int cx, int cy, int lod, float[] dst, int offset, PerlinLayout layout) {
+		int d = dimension(), st = lodStride(lod), w = psize / st;
+		if (offset < 0 || dst.length - offset < w * w * d) {
+			throw new IndexOutOfBoundsException("destination too small for a chunk of " + w * w * d + " floats");
+		}
+		int xs = layout.xStride(w, d), ys = layout.yStride(w, d), cs = layout.componentStride(w, d);
+
+		PerlinSettings s = settings;
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+		float[] invecs = new float[2 * MASKS * d];
+
+		int levels = lodOctaves(s, st);
+		for (int octn = levels - 1; octn >= 0; octn--) {
+			PerlinOctave oct = s.octaveDataSets()[octn];
+			int size = oct.psize(), n = psize / size;
+			for (int i = 0; i < n; i++) {
+				int x0 = Math.floorMod(-i * size, st);
+				if (x0 >= size) { continue; }
+				for (int j = 0; j < n; j++) {
+					int y0 = Math.floorMod(-j * size, st);
+					if (y0 >= size) { continue; }
+					genInfluenceVectors(seed + octn, s.octaveChunkData(main, octn, i, j), invecs, d);
+					int off = offset + (i * size + x0) / st * xs + (j * size + y0) / st * ys;
+					kernel.region(invecs, oct, x0, size, y0, size, st, dst, off, xs, ys, cs, octn < levels - 1,
+							s.persistence());
+				}
+			}
+		}
+
+		if (levels < s.octaves()) {
+			// Adding a positive zero turns -0.0 into the 0.0 the skipped octaves give
+			for (int i = offset, end = offset + w * w * d; i < end; i++) { dst[i] += 0f; }
+		}
+	}
+
+	/**
+	 * Returns the distance between the computed pixels of a level of detail
+	 * 
+	 * @param  lod
+	 *             The level of detail
+	 * 
+	 * @return     <code>2^lod</code>
+	 */
+	private int lodStride(int lod) {
+		if (lod < 0 || lod > 30 || psize % (1 << lod) != 0) {
+			throw new IllegalArgumentException("psize " + psize + " is not divisible by 2^" + lod);
+		}
+		return 1 << lod;
+	}
+
+	/**
+	 * Returns the number of octaves contributing to the pixels of a level of
+	 * detail <br>
+	 * Every computed pixel of an octave whose <code>psize</code> divides the
+	 * stride lies on a corner of its sub chunk, where the octave is zero. As
+	 * the finer octaves divide it too, they can all be left out of the Horner
+	 * accumulation
+	 * 
+	 * @param  s
+	 *                The settings of the generation
+	 * @param  stride
+	 *                The distance between the computed pixels
+	 * 
+	 * @return        The number of leading octaves to compute, at least one
+	 */
+	private static int lodOctaves(PerlinSettings s, int stride) {
+		int levels = 1;
+		while (levels < s.octaves() && stride % s.octaveDataSets()[levels].psize() != 0) { levels++; }
+		return levels;
+	}
+
+	/**
+	 * Generates the raw octave layers of a chunk located at position
+	 * <code>(cx,cy)</code> with the current settings <br>
+	 * The layers can be recombined with any persistence or per-octave
+	 * amplitudes without running the perlin algorithm again. The influence
+	 * vectors must support {@link InnerProductFloatVectorSpace#size()} and
+	 * {@link InnerProductFloatVectorSpace#get(int)}
+	 * 
+	 * @param  seed
+	 *                The seed to randomly generate influence vectors
+	 * @param  cx
+	 *                The x position of the chunk
+	 * @param  cy
+	 *                The y position of the chunk
+	 * @param  layout
+	 *                The {@link PerlinLayout} of each layer
+	 * 
+	 * @return        The {@link PerlinLayers} of the chunk
+	 */
+	public PerlinLayers perlinLayers(long seed, int cx, int cy, PerlinLayout layout) {
+		PerlinLayers layers = new PerlinLayers(this, settings, seed, cx, cy, layout, psize * psize * dimension());
+		layers.ensureOctaves(layers.settings().octaves());
+		return layers;
+	}
+
+	/**
+	 * Runs the perlin algorithm on one octave of a chunk, without combining it
+	 * with the other octaves
+	 * 
+	 * @param s
+	 *               The settings of the layers
+	 * @param seed
+	 *               The seed of the main octave
+	 * @param cx
+	 *               The x position of the chunk
+	 * @param cy
+	 *               The y position of the chunk
+	 * @param octn
+	 *               The octave level
+	 * @param dst
+	 *               The layer, of <code>psize * psize * d</code> floats
+	 * @param layout
+	 *               The {@link PerlinLayout} of the layer
+	 */
+	void perlinLayerInto(PerlinSettings s, long seed, int cx, int cy, int octn, float[] dst, PerlinLayout layout) {
+		int d = dimension();
+		int xs = layout.xStride(psize, d), ys = layout.yStride(psize, d), cs = layout.componentStride(psize, d);
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+		perlinOctaveInto(s, parallelism, seed, main, octn, new float[2 * MASKS * d], d, dst, 0, xs, ys, cs, false,
+				null);
+	}
+
+	/**
+	 * Runs the perlin algorithm on every sub chunk of an octave and writes or
+	 * accumulates it into a flat array
+	 * 
+	 * @param s
+	 *                   The settings of the generation
+	 * @param par
+	 *                   The fork-join parallelism
+	 * @param seed
+	 *                   The seed of the main octave
+	 * @param main
+	 *                   The main level octave chunk data
+	 * @param octn
+	 *                   The octave level
+	 * @param invecs
+	 *                   A scratch array of <code>2 * MASKS * d</code> floats
+	 *                   for the sequential sub chunks
+	 * @param d
+	 *                   The dimension of the influence vectors
+	 * @param dst
+	 *                   The destination array
+	 * @param offset
+	 *                   The index of the first float of the main chunk
+	 * @param xs
+	 *                   The distance between pixels of consecutive
+	 *                   <code>x</code>
+	 * @param ys
+	 *                   The distance between pixels of consecutive
+	 *                   <code>y</code>
+	 * @param cs
+	 *                   The distance between consecutive components
+	 * @param accumulate
+	 *                   If the octave is added to the scaled finer octaves
+	 *                   already in the array, otherwise it overwrites them
+	 * @param cancel
+	 *                   Tested with the number of sub chunks completed since
+	 *                   its last test, or <code>null</code>
+	 * 
+	 * @throws           CancellationException
+	 *                   if the chunk was cancelled
+	 */
+	private void perlinOctaveInto(PerlinSettings s, PerlinParallelism par, long seed, PerlinOctaveChunkData main,
+			int octn, float[] invecs, int d, float[] dst, int offset, int xs, int ys, int cs, boolean accumulate,
+			IntPredicate cancel) {
+		PerlinOctave oct = s.octaveDataSets()[octn];
+		int n = psize / oct.psize();
+		PerlinOctaveEvent event = new PerlinOctaveEvent();
+		event.begin();
+		if (par.forks(oct) && n > 1) {
+			// The sub chunks of an octave write disjoint pixels
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(n * n);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					int fi = i, fj = j;
+					tasks.add(ForkJoinTask.adapt(() -> perlinSubChunkInto(s, seed, main, octn, fi, fj,
+							new float[2 * MASKS * d], d, dst, offset, xs, ys, cs, accumulate)));
+				}
+			}
+			par.invokeAll(tasks);
+			if (cancel != null && cancel.test(n * n)) { throw new CancellationException("chunk cancelled"); }
+		} else {
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					perlinSubChunkInto(s, seed, main, octn, i, j, invecs, d, dst, offset, xs, ys, cs, accumulate);
+					if (cancel != null && cancel.test(1)) { throw new CancellationException("chunk cancelled"); }
+				}
+			}
+		}
+		commit(event, seed, main, octn, n * n);
+	}
+
+	/**
+	 * Runs the perlin algorithm on one sub chunk of an octave and accumulates
+	 * it into a flat array
+	 * 
+	 * @param s
+	 *                   The settings of the generation
+	 * @param seed
+	 *                   The seed of the main octave
+	 * @param main
+	 *                   The main level octave chunk data
+	 * @param octn
+	 *                   The octave level of the sub chunk
+	 * @param i
+	 *                   The x position of the sub chunk within the main chunk
+	 * @param j
+	 *                   The y position of the sub chunk within the main chunk
+	 * @param invecs
+	 *                   A scratch array of <code>2 * MASKS * d</code> floats
+	 *                   for the influence vectors
+	 * @param d
+	 *                   The dimension of the influence vectors
+	 * @param dst
+	 *                   The destination array
+	 * @param offset
+	 *                   The index of the first float of the main chunk
+	 * @param xs
+	 *                   The distance between pixels of consecutive
+	 *                   <code>x</code>
+	 * @param ys
+	 *                   The distance between pixels of consecutive
+	 *                   <code>y</code>
+	 * @param cs
+	 *                       The distance between consecutive components
+	 * @param accumulate
+	 *                       If the sub chunk is added to the scaled finer octaves
+	 *                       already in the array
+	 */
+	private void perlinSubChunkInto(PerlinSettings s, long seed, PerlinOctaveChunkData main, int octn, int i, int j,
+			float[] invecs, int d, float[] dst, int offset, int xs, int ys, int cs, boolean accumulate) {
+		PerlinMetrics m = metrics;
+		long t = m == null ? 0 : System.nanoTime();
+
+		PerlinOctave oct = s.octaveDataSets()[octn];
+		PerlinOctaveChunkData c = s.octaveChunkData(main, octn, i, j);
+		genInfluenceVectors(seed + octn, c, invecs, d);
+		if (m != null) { t = m.phase(PerlinMetrics.Phase.INFLUENCE, t); }
+
+		int off = offset + i * oct.psize() * xs + j * oct.psize() * ys;
+		kernel.chunk(invecs, oct, dst, off, xs, ys, cs, accumulate, s.persistence());
+		if (m != null) { m.phase(PerlinMetrics.Phase.KERNEL, t); }
+	}
+
+	/**
+	 * Runs the perlin noise algorithm on a rectangle of pixels which need not
+	 * line up with the chunks, and writes the output vectors into a flat array
+	 * <br>
+	 * The rectangle is in pixels of the main chunks, the pixel
+	 * <code>(x,y)</code> of the chunk <code>(cx,cy)</code> is at
+	 * <code>(cx * psize + x, cy * psize + y)</code>. Only the pixels inside
+	 * the rectangle are computed, and each corner of each octave is generated
+	 * once for the whole rectangle. The influence vectors must support
+	 * {@link InnerProductFloatVectorSpace#size()} and
+	 * {@link InnerProductFloatVectorSpace#get(int)}
+	 * 
+	 * @param seed
+	 *               The seed to randomly generate influence vectors
+	 * @param x0
+	 *               The x position of the first pixel
+	 * @param y0
+	 *               The y position of the first pixel
+	 * @param width
+	 *               The number of pixels along x
+	 * @param height
+	 *               The number of pixels along y
+	 * @param dst
+	 *               The destination array of at least
+	 *               <code>width * height * d</code> floats, component
+	 *               <code>k</code> of the pixel <code>(x0 + x, y0 + y)</code>
+	 *               is at <code>(x * height + y) * d + k</code> as in
+	 *               {@link PerlinLayout#INTERLEAVED}
+	 */
+	public void generateRegion(long seed, int x0, int y0, int width, int height, float[] dst) {
+		int d = dimension();
+		if (width < 0 || height < 0 || (long) width * height * d > dst.length) {
+			throw new IndexOutOfBoundsException("destination too small for a region of " + width + "x" + height);
+		}
+		if (width == 0 || height == 0) { return; }
+
+		PerlinSettings s = settings;
+		int xs = height * d, ys = d;
+		float[] invecs = new float[2 * MASKS * d];
+
+		// Accumulate the octaves from the finest, p = pixs + p * persistence
+		for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+			PerlinOctave oct = s.octaveDataSets()[octn];
+			int size = oct.psize();
+			int gx0 = Math.floorDiv(x0, size), gx1 = Math.floorDiv(x0 + width - 1, size);
+			int gy0 = Math.floorDiv(y0, size), gy1 = Math.floorDiv(y0 + height - 1, size);
+
+			float[] corners = regionCorners(s, seed, octn, gx0, gy0, gx1 - gx0 + 2, gy1 - gy0 + 2, d);
+			int ch = gy1 - gy0 + 2;
+			for (int gx = gx0; gx <= gx1; gx++) {
+				for (int gy = gy0; gy <= gy1; gy++) {
+					int a = gx - gx0, b = gy - gy0;
+					System.arraycopy(corners, (a * ch + b) * 2 * d, invecs, 2 * TL * d, 2 * d);
+					System.arraycopy(corners, ((a + 1) * ch + b) * 2 * d, invecs, 2 * TR * d, 2 * d);
+					System.arraycopy(corners, (a * ch + b + 1) * 2 * d, invecs, 2 * BL * d, 2 * d);
+					System.arraycopy(corners, ((a + 1) * ch + b + 1) * 2 * d, invecs, 2 * BR * d, 2 * d);
+
+					int px = gx * size - x0, py = gy * size - y0;
+					int xa = Math.max(0, -px), ya = Math.max(0, -py);
+					kernel.region(invecs, oct, xa, Math.min(size, width - px), ya, Math.min(size, height - py), 1,
+							dst, (px + xa) * xs + (py + ya) * ys, xs, ys, 1, octn < s.octaves() - 1, s.persistence());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates the influence vectors of a grid of corners of an octave, each
+	 * as the {@link #TL} corner of the sub chunk at its location
+	 * 
+	 * @param  s
+	 *              The settings of the generation
+	 * @param  seed
+	 *              The seed of the main octave
+	 * @param  octn
+	 *              The octave level
+	 * @param  gx0
+	 *              The x location of the first corner on the lattice of the
+	 *              octave
+	 * @param  gy0
+	 *              The y location of the first corner on the lattice of the
+	 *              octave
+	 * @param  cw
+	 *              The number of corners along x
+	 * @param  ch
+	 *              The number of corners along y
+	 * @param  d
+	 *              The dimension of the influence vectors
+	 * 
+	 * @return      The coordinates of the corners, the first vector of corner
+	 *              <code>(a,b)</code> at <code>(a * ch + b) * 2 * d</code>
+	 *              followed by its second vector
+	 */
+	private float[] regionCorners(PerlinSettings s, long seed, int octn, int gx0, int gy0, int cw, int ch, int d) {
+		int n = psize / s.octaveDataSets()[octn].psize();
+		float[] corners = new float[cw * ch * 2 * d];
+		for (int a = 0; a < cw; a++) {
+			for (int b = 0; b < ch; b++) {
+				int gx = gx0 + a, gy = gy0 + b;
+				int cx = Math.floorDiv(gx, n), cy = Math.floorDiv(gy, n);
+				PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+				PerlinOctaveChunkData c = s.octaveChunkData(main, octn, gx - cx * n, gy - cy * n);
+
+				Vector2v<E> v = cornerInfluence(seed + octn, randomMode.spiralIndex(gx, gy), TL, c);
+				int i = (a * ch + b) * 2 * d;
+				for (int k = 0; k < d; k++) {
+					corners[i + k] = v.a.get(k);
+					corners[i + d + k] = v.b.get(k);
 				}
 			}
 		}
+		return corners;
+	}
+
+	/**
+	 * Samples the perlin noise at a single point, evaluating only the sub
+	 * chunk containing the point at each octave <br>
+	 * The point is in pixels of the main chunks, the pixel <code>(x,y)</code>
+	 * of the chunk <code>(cx,cy)</code> is at
+	 * <code>(cx * psize + x, cy * psize + y)</code> and gives the same vector
+	 * as {@link #perlin(long, int, int, Consumer)}. Points between pixels are
+	 * interpolated continuously
+	 * 
+	 * @param  seed
+	 *              The seed to randomly generate influence vectors
+	 * @param  x
+	 *              The x position of the point
+	 * @param  y
+	 *              The y position of the point
+	 * 
+	 * @return      The output vector at the point
+	 */
+	public E sample(long seed, float x, float y) {
+		return sample(settings, seed, x, y, null);
+	}
+
+	/**
+	 * Samples the perlin noise at many points as in
+	 * {@link #sample(long, float, float)} <br>
+	 * The influence vectors of a sub chunk are reused by consecutive points
+	 * within it, so points should be ordered by locality
+	 * 
+	 * @param  seed
+	 *              The seed to randomly generate influence vectors
+	 * @param  x
+	 *              The x positions of the points
+	 * @param  y
+	 *              The y positions of the points
+	 * 
+	 * @return      The output vector at each point
+	 */
+	public E[] sample(long seed, float[] x, float[] y) {
+		if (x.length != y.length) { throw new IllegalArgumentException("x and y must have the same length"); }
+		PerlinSettings s = settings;
+		PerlinSample<E> last = new PerlinSample<>(s.octaves());
+
+		@SuppressWarnings("unchecked")
+		E[] values = (E[]) Array.newInstance(cls, x.length);
+		for (int i = 0; i < x.length; i++) { values[i] = sample(s, seed, x[i], y[i], last); }
+		return values;
+	}
+
+	/**
+	 * Samples the perlin noise at a single point
+	 * 
+	 * @param  s
+	 *              The settings of the generation
+	 * @param  seed
+	 *              The seed to randomly generate influence vectors
+	 * @param  x
+	 *              The x position of the point
+	 * @param  y
+	 *              The y position of the point
+	 * @param  last
+	 *              The influence vectors of the last sub chunk of each
+	 *              octave, or <code>null</code>
+	 * 
+	 * @return      The output vector at the point
+	 */
+	private E sample(PerlinSettings s, long seed, float x, float y, PerlinSample<E> last) {
+		int cx = (int) Math.floor((double) x / psize), cy = (int) Math.floor((double) y / psize);
+		// The position within the main chunk, exact for whole pixels
+		float lx = (float) (x - (double) cx * psize), ly = (float) (y - (double) cy * psize);
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+
+		// Accumulate the octaves from the finest, p = pixs + p * persistence
+		E p = null;
+		for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+			int size = s.octaveDataSets()[octn].psize(), n = psize / size;
+			int i = Math.min((int) (lx / size), n - 1), j = Math.min((int) (ly / size), n - 1);
+			float u = lx - i * size, v = ly - j * size;
+
+			Vector2v<E>[] invecs = last == null ? null : last.find(octn, cx * n + i, cy * n + j);
+			if (invecs == null) {
+				invecs = genInfluenceVectors(seed + octn, s.octaveChunkData(main, octn, i, j));
+				if (last != null) { last.keep(octn, cx * n + i, cy * n + j, invecs); }
+			}
+
+			float nx = 0 - u / size, ny = 0 - v / size, rx = 1 - u / size, ry = 1 - v / size;
+			float inv = 1f / size;
+			E pixs = Perlinification.perlinAPoint(invecs, nx, ny, rx, ry, s.fade().fade(u * inv),
+					s.fade().fade(v * inv));
+			p = p == null ? pixs : p.iscale(s.persistence()).iadd(pixs);
+		}
+		return p;
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for each given chunk in parallel
+	 * 
+	 * @param  seed
+	 *                  The seed to randomly generate influence vectors
+	 * @param  chunks
+	 *                  The locations of the chunks
+	 * @param  executor
+	 *                  The executor to run the chunks on, such as a
+	 *                  {@link java.util.concurrent.ForkJoinPool}
+	 * 
+	 * @return          The 2D grids of the output vectors, in the order of
+	 *                  the given chunks
+	 */
+	public List<E[][]> perlin(long seed, List<PerlinChunkLocation> chunks, Executor executor) {
+		List<CompletableFuture<E[][]>> futures = new ArrayList<>(chunks.size());
+		for (PerlinChunkLocation c : chunks) {
+			futures.add(CompletableFuture.supplyAsync(() -> perlin(seed, c.cx(), c.cy(), v -> {}), executor));
+		}
 
+		List<E[][]> values = new ArrayList<>(chunks.size());
+		for (CompletableFuture<E[][]> f : futures) { values.add(join(f)); }
 		return values;
 	}
 
+	/**
+	 * Runs the perlin noise algorithm for each given chunk in parallel and
+	 * writes the output vectors into a flat array <br>
+	 * The i-th chunk is written at <code>offset + i * psize * psize * d</code>
+	 * as in {@link #perlinInto(long, int, int, float[], int, PerlinLayout)}
+	 * 
+	 * @param seed
+	 *                 The seed to randomly generate influence vectors
+	 * @param chunks
+	 *                 The locations of the chunks
+	 * @param dst
+	 *                 The destination array
+	 * @param offset
+	 *                 The index of the first float written
+	 * @param layout
+	 *                 The {@link PerlinLayout} of each chunk
+	 * @param executor
+	 *                 The executor to run the chunks on, such as a
+	 *                 {@link java.util.concurrent.ForkJoinPool}
+	 */
+	public void perlinInto(long seed, List<PerlinChunkLocation> chunks, float[] dst, int offset, PerlinLayout layout,
+			Executor executor) {
+		int size = psize * psize * dimension();
+		if (offset < 0 || (dst.length - offset) / size < chunks.size()) {
+			throw new IndexOutOfBoundsException("destination too small for " + chunks.size() + " chunks");
+		}
+
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks.size()];
+		for (int i = 0; i < futures.length; i++) {
+			PerlinChunkLocation c = chunks.get(i);
+			int off = offset + i * size;
+			futures[i] = CompletableFuture.runAsync(() -> perlinInto(seed, c.cx(), c.cy(), dst, off, layout), executor);
+		}
+		join(CompletableFuture.allOf(futures));
+	}
+
+	/**
+	 * Lists the chunk locations of a rectangle, by increasing <code>x</code>
+	 * and then increasing <code>y</code>
+	 * 
+	 * @param  cx
+	 *                The x position of the first chunk
+	 * @param  cy
+	 *                The y position of the first chunk
+	 * @param  width
+	 *                The number of chunks along x
+	 * @param  height
+	 *                The number of chunks along y
+	 * 
+	 * @return        The chunk locations, the chunk <code>(cx + i, cy + j)</code>
+	 *                is at index <code>i * height + j</code>
+	 */
+	public static List<PerlinChunkLocation> rectangle(int cx, int cy, int width, int height) {
+		List<PerlinChunkLocation> chunks = new ArrayList<>(width * height);
+		for (int i = 0; i < width; i++) {
+			for (int j = 0; j < height; j++) { chunks.add(new PerlinChunkLocation(cx + i, cy + j)); }
+		}
+		return chunks;
+	}
+
+	/**
+	 * Waits for a future, rethrowing the exception of a failed generation
+	 * 
+	 * @param  future
+	 *                The future
+	 * 
+	 * @return        The result
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException r) { throw r; }
+			if (e.getCause() instanceof Error r) { throw r; }
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the dimension of the influence vectors, for the flat outputs
+	 * 
+	 * @return The number of float coordinates of the possibilities
+	 * 
+	 * @throws UnsupportedOperationException
+	 *                                       if the space has no coordinates
+	 */
+	private int dimension() {
+		int d = possibilities[0].size();
+		if (d == 0) { throw new UnsupportedOperationException("the possibilities have no float coordinates"); }
+		return d;
+	}
+
 	/**
 	 * Generates random normalized influence vectors for a chunk at a given
 	 * position
@@ -355,43 +1495,255 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 * @return      An influence vector for each {@link #MASKS}
 	 */
 	private Vector2v<E>[] genInfluenceVectors(long seed, PerlinOctaveChunkData c) {
-		int[] index = genInfluenceVectorIndecies(c.cx, c.cy);
+		long[] index = genInfluenceVectorIndecies(c.cx, c.cy);
 
 		@SuppressWarnings("unchecked")
 		Vector2v<E>[] vecs = new Vector2v[MASKS];
-		for (int i = 0; i < MASKS; i++) {
+		for (int i = 0; i < MASKS; i++) { vecs[i] = cornerInfluence(seed, index[i], i, c); }
 
-			// Generate random float index for the angle of the index vector
-			float f = Util.getRandomFloatAtIndex(index[i], random, seed, 2 * (float) Math.PI);
+		return vecs;
+	}
 
-			E influence;
-			if (!c.isMain()) {
-				influence = influenceGenerator.perlinOctInfluenceVector(seed, index[i], i, c);
-				if (influence == null)
-					influence = this.perlinOctInfluenceVector(seed, index[i], i, c);
-			} else {
-				influence = influenceGenerator.perlinMainInfluenceVector(seed, index[i], c.cx, c.cy, i);
-				if (influence == null)
-					influence = this.perlinMainInfluenceVector(seed, index[i], c.cx, c.cy, i);
+	/**
+	 * Generates random normalized influence vectors for a chunk at a given
+	 * position as float coordinates, in the layout used by
+	 * {@link Perlinification#perlinAChunk(float[], int, PerlinOctave, float[], int, int, int, int, boolean, float)}
+	 * 
+	 * @param seed
+	 *               The seed to randomly generate the influence vectors
+	 * @param c
+	 *               The octave chunk data of the chunk calling this method
+	 * @param invecs
+	 *               The array to write the coordinates into, of length
+	 *               <code>2 * MASKS * d</code>
+	 * @param d
+	 *               The dimension of the influence vectors
+	 */
+	private void genInfluenceVectors(long seed, PerlinOctaveChunkData c, float[] invecs, int d) {
+		long[] index = genInfluenceVectorIndecies(c.cx, c.cy);
+
+		for (int i = 0; i < MASKS; i++) {
+			Vector2v<E> v = cornerInfluence(seed, index[i], i, c);
+			for (int k = 0; k < d; k++) {
+				invecs[2 * i * d + k] = v.a.get(k);
+				invecs[(2 * i + 1) * d + k] = v.b.get(k);
 			}
-			Vector2f p = Vector2f.fromPolar(1, f);
-			vecs[i] = new Vector2v<E>(influence.scale(p.x), influence.scale(p.y));
 		}
+	}
 
-		return vecs;
+	/**
+	 * Finds the random normalized influence vector of a chunk corner, from the
+	 * {@link PerlinCornerCache} if one is set
+	 * 
+	 * @param  seed
+	 *                     The seed to randomly generate the influence vector
+	 * @param  spiralIndex
+	 *                     The unique index of the corner
+	 * @param  mask
+	 *                     The {@link #MASKS}
+	 * @param  c
+	 *                     The octave chunk data of the chunk
+	 * 
+	 * @return             The influence vector
+	 */
+	private Vector2v<E> cornerInfluence(long seed, long spiralIndex, int mask, PerlinOctaveChunkData c) {
+		PerlinCornerCache<E> cache = cornerCache;
+		if (cache == null) { return genCornerInfluence(seed, spiralIndex, mask, c); }
+		return cache.get(seed, c.octLevel, cornerX(c.cx, mask), cornerY(c.cy, mask),
+				() -> genCornerInfluence(seed, spiralIndex, mask, c));
+	}
+
+	/**
+	 * Generates the random normalized influence vector of a chunk corner
+	 * 
+	 * @param  seed
+	 *                     The seed to randomly generate the influence vector
+	 * @param  spiralIndex
+	 *                     The unique index of the corner
+	 * @param  mask
+	 *                     The {@link #MASKS}
+	 * @param  c
+	 *                     The octave chunk data of the chunk
+	 * 
+	 * @return             The influence vector
+	 */
+	private Vector2v<E> genCornerInfluence(long seed, long spiralIndex, int mask, PerlinOctaveChunkData c) {
+		float[] p = new float[2];
+		cornerDirection(randomMode, random, seed, spiralIndex, mask, c, p, 0);
+
+		E influence = influenceVector(seed, spiralIndex, mask, c);
+		return new Vector2v<E>(influence.scale(p[0]), influence.scale(p[1]));
+	}
+
+	/**
+	 * Returns the x location of a chunk corner on the lattice
+	 * 
+	 * @param  cx
+	 *              The x position of the chunk
+	 * @param  mask
+	 *              The {@link #MASKS}
+	 * 
+	 * @return      The x location of the corner
+	 */
+	static int cornerX(int cx, int mask) {
+		return mask == TR || mask == BR ? cx + 1 : cx;
+	}
+
+	/**
+	 * Returns the y location of a chunk corner on the lattice
+	 * 
+	 * @param  cy
+	 *              The y position of the chunk
+	 * @param  mask
+	 *              The {@link #MASKS}
+	 * 
+	 * @return      The y location of the corner
+	 */
+	static int cornerY(int cy, int mask) {
+		return mask == BL || mask == BR ? cy + 1 : cy;
+	}
+
+	/**
+	 * Finds the influence vector of a chunk corner using the
+	 * {@link PerlinInfluenceGenerator}, falling back on the default methods
+	 * 
+	 * @param  seed
+	 *                     The seed to randomly generate the influence vector
+	 * @param  spiralIndex
+	 *                     The unique index of the corner
+	 * @param  mask
+	 *                     The {@link #MASKS}
+	 * @param  c
+	 *                     The octave chunk data of the chunk
+	 * 
+	 * @return             The influence vector
+	 */
+	private E influenceVector(long seed, long spiralIndex, int mask, PerlinOctaveChunkData c) {
+		E influence;
+		if (!c.isMain()) {
+			influence = influenceGenerator.perlinOctInfluenceVector(seed, spiralIndex, mask, c);
+			if (influence == null)
+				influence = this.perlinOctInfluenceVector(seed, spiralIndex, mask, c);
+		} else {
+			influence = influenceGenerator.perlinMainInfluenceVector(seed, spiralIndex, c.cx, c.cy, mask);
+			if (influence == null)
+				influence = this.perlinMainInfluenceVector(seed, spiralIndex, c.cx, c.cy, mask);
+		}
+		return influence;
+	}
+
+	/**
+	 * Generates the random direction of the influence vector of a chunk
+	 * corner, the polar unit vector of a random angle <br>
+	 * Shared with {@link ScalarPerlinNoise}
+	 * 
+	 * @param randomMode
+	 *                    The source of randomness
+	 * @param random
+	 *                    The indexed random generator, <code>null</code> in
+	 *                    {@link RandomMode#HASHED}
+	 * @param seed
+	 *                    The seed to randomly generate the angle
+	 * @param spiralIndex
+	 *                    The unique index of the corner
+	 * @param mask
+	 *                    The {@link #MASKS}
+	 * @param c
+	 *                    The octave chunk data of the chunk
+	 * @param dst
+	 *                    The array to write the x and y coordinates into
+	 * @param off
+	 *                    The index of the x coordinate
+	 */
+	static void cornerDirection(RandomMode randomMode, IndexedRandom random, long seed, long spiralIndex, int mask,
+			PerlinOctaveChunkData c, float[] dst, int off) {
+		float f;
+		if (randomMode == RandomMode.HASHED) {
+			long h = PerlinInfluenceGenerator.cornerHash(seed, c.octLevel, c.cx, c.cy, mask,
+					PerlinInfluenceGenerator.ANGLE_STREAM);
+			f = CounterRandom.toFloat(h, 2 * (float) Math.PI);
+		} else if (spiralIndex < 0) {
+			// The angle a wrapped int index always had, see RandomMode#INDEXED
+			f = -1;
+		} else {
+			f = random.floatAtIndex(spiralIndex, seed, 2 * (float) Math.PI);
+		}
+		dst[off] = (float) Math.cos(f);
+		dst[off + 1] = (float) Math.sin(f);
+	}
+
+	/**
+	 * Picks a random possibility for a chunk corner
+	 * 
+	 * @param  seed
+	 *                     The seed to randomly pick the possibility
+	 * @param  octLevel
+	 *                     The octave level of the chunk
+	 * @param  spiralIndex
+	 *                     The unique index of the corner
+	 * @param  cx
+	 *                     The x position of the chunk
+	 * @param  cy
+	 *                     The y position of the chunk
+	 * @param  mask
+	 *                     The {@link #MASKS}
+	 * 
+	 * @return             The picked possibility
+	 */
+	private E influencePossibility(long seed, int octLevel, long spiralIndex, int cx, int cy, int mask) {
+		return possibilities[cornerPossibility(randomMode, random, possibilities.length, seed, octLevel, spiralIndex,
+				cx, cy, mask)];
+	}
+
+	/**
+	 * Picks the index of a random possibility for a chunk corner <br>
+	 * Shared with {@link ScalarPerlinNoise}
+	 * 
+	 * @param  randomMode
+	 *                     The source of randomness
+	 * @param  random
+	 *                     The indexed random generator, <code>null</code> in
+	 *                     {@link RandomMode#HASHED}
+	 * @param  count
+	 *                     The number of possibilities
+	 * @param  seed
+	 *                     The seed to randomly pick the possibility
+	 * @param  octLevel
+	 *                     The octave level of the chunk
+	 * @param  spiralIndex
+	 *                     The unique index of the corner
+	 * @param  cx
+	 *                     The x position of the chunk
+	 * @param  cy
+	 *                     The y position of the chunk
+	 * @param  mask
+	 *                     The {@link #MASKS}
+	 * 
+	 * @return             The index of the picked possibility
+	 */
+	static int cornerPossibility(RandomMode randomMode, IndexedRandom random, int count, long seed, int octLevel,
+			long spiralIndex, int cx, int cy, int mask) {
+		if (count == 1) { return 0; }
+		if (randomMode == RandomMode.HASHED) {
+			long h = PerlinInfluenceGenerator.cornerHash(seed, octLevel, cx, cy, mask,
+					PerlinInfluenceGenerator.POSSIBILITY_STREAM);
+			return CounterRandom.toInt(h, count);
+		}
+		if (spiralIndex < 0) {
+			throw new IllegalArgumentException("the corner of (" + cx + "," + cy + ") at octave level " + octLevel
+					+ " is beyond the int spiral index, use RandomMode.INDEXED_WIDE or HASHED");
+		}
+		return random.intAtIndex(spiralIndex, seed, count);
 	}
 
 	@Override
-	public E perlinMainInfluenceVector(long seed, int spiralIndex, int cx, int cy, int mask) {
-		int in = 0;
-		if (runPossibilities)
-			in = Util.getRandomIntAtIndex(spiralIndex, random, seed, possibilities.length);
-		return possibilities[in];
+	public E perlinMainInfluenceVector(long seed, long spiralIndex, int cx, int cy, int mask) {
+		return influencePossibility(seed, 0, spiralIndex, cx, cy, mask);
 	}
 
 	@Override
-	public E perlinOctInfluenceVector(long seed, int spiralIndex, int mask, PerlinOctaveChunkData octData) {
-		return perlinMainInfluenceVector(seed, spiralIndex, octData.cx, octData.cy, mask);
+	public E perlinOctInfluenceVector(long seed, long spiralIndex, int mask, PerlinOctaveChunkData octData) {
+		return influencePossibility(seed, octData.octLevel, spiralIndex, octData.cx, octData.cy, mask);
 	}
 
 	/**
@@ -401,18 +1753,96 @@ public final class PerlinNoise<E extends InnerProductFloatVectorSpace<E>> implem
 	 * @return <b><code>int[]</code></b> - an array containing the spiral index
 	 *         of each point of the {@link #MASKS}
 	 */
-	private int[] genInfluenceVectorIndecies(int x, int y) {
+	private long[] genInfluenceVectorIndecies(int x, int y) {
 
-		int[] i = new int[MASKS];
-		i[TL] = Util.pointToSpiral(x, y);
-		i[TR] = Util.pointToSpiral(x + 1, y);
-		i[BL] = Util.pointToSpiral(x, y + 1);
-		i[BR] = Util.pointToSpiral(x + 1, y + 1);
+		long[] i = new long[MASKS];
+		i[TL] = randomMode.spiralIndex(x, y);
+		i[TR] = randomMode.spiralIndex(x + 1, y);
+		i[BL] = randomMode.spiralIndex(x, y + 1);
+		i[BR] = randomMode.spiralIndex(x + 1, y + 1);
 
 		return i;
 
 	}
 
+	/**
+	 * The fork-join parallelism used within a single chunk
+	 * 
+	 * @author Gareth Kmet
+	 */
+	private record PerlinParallelism(ForkJoinPool pool, int threshold) {
+		/**
+		 * Runs every chunk sequentially
+		 */
+		static final PerlinParallelism NONE = new PerlinParallelism(null, Integer.MAX_VALUE);
+
+		/**
+		 * Returns if the sub chunks of an octave are run as their own tasks
+		 * 
+		 * @param  oct
+		 *             The octave
+		 * 
+		 * @return     <b><code>true</code></b> if the sub chunks are at least
+		 *             as wide as the threshold
+		 */
+		boolean forks(PerlinOctave oct) {
+			return pool != null && oct.psize() >= threshold;
+		}
+
+		/**
+		 * Runs the tasks in the pool and waits for them
+		 * 
+		 * @param tasks
+		 *              The tasks
+		 */
+		void invokeAll(List<ForkJoinTask<?>> tasks) {
+			if (ForkJoinTask.getPool() == pool) {
+				ForkJoinTask.invokeAll(tasks);
+			} else {
+				pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+			}
+		}
+	}
+
+	/**
+	 * The influence vectors of the last sampled sub chunk of each octave
+	 * 
+	 * @author Gareth Kmet
+	 */
+	private static final class PerlinSample<E extends InnerProductFloatVectorSpace<E>> {
+		private final int[] cx, cy;
+		private final Vector2v<E>[][] invecs;
+
+		PerlinSample(int octaves) {
+			cx = new int[octaves];
+			cy = new int[octaves];
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Vector2v<E>[][] v = new Vector2v[octaves][];
+			invecs = v;
+		}
+
+		/**
+		 * @return the influence vectors of the sub chunk, or <code>null</code>
+		 *         if it was not the last sampled sub chunk of its octave
+		 */
+		Vector2v<E>[] find(int octn, int x, int y) {
+			return invecs[octn] != null && cx[octn] == x && cy[octn] == y ? invecs[octn] : null;
+		}
+
+		void keep(int octn, int x, int y, Vector2v<E>[] v) {
+			cx[octn] = x;
+			cy[octn] = y;
+			invecs[octn] = v;
+		}
+	}
+
+	/**
+	 * The location of a main chunk
+	 * 
+	 * @author Gareth Kmet
+	 */
+	public record PerlinChunkLocation(int cx, int cy) {}
+
 	/**
 	 * A data class which stores information about a current chunk in a current
 	 * octave
@@ -1,6 +1,7 @@
 package perlin;
 
-import util.Vector2f;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a single octave of the algorithm <br>
@@ -8,32 +9,90 @@ import util.Vector2f;
  * <ul>
  * <li><b>n</b> The octave's number (used for debug)
  * <li><b>psize</b> The width and height of the octave
- * <li><b>pixelDistanceVectors</b> A <code>Vector2f[][][]</code> which contains
- * one {@link Vector2f} for each pixel for each {@link PerlinNoise#MASKS}
+ * <li><b>near</b> The distance of each row and column to the top and left
+ * corners, <code>0 - i / psize</code>
+ * <li><b>far</b> The distance of each row and column to the bottom and right
+ * corners, <code>1 - i / psize</code>
+ * <li><b>fade</b> The lerping weight of each row and column, the
+ * {@link PerlinFade} of <code>i / psize</code>
  * </ul>
+ * The distance vector of pixel <code>(x,y)</code> to the {@link PerlinNoise#TL}
+ * corner is <code>(near[x], near[y])</code>, to the {@link PerlinNoise#BR}
+ * corner <code>(far[x], far[y])</code> and likewise for the other corners
+ * <p>
+ * The arrays are shared by every octave of equal <code>psize</code> (and
+ * fade) and must not be modified
  * 
  * @author Gareth Kmet
  */
-record PerlinOctave(int n, int psize, Vector2f[][][] pixelDistanceVectors) {
+record PerlinOctave(int n, int psize, float[] near, float[] far, float[] fade) {
 
-	PerlinOctave(int n, int psize) {
-		this(n, psize, new Vector2f[PerlinNoise.MASKS][psize][psize]);
-		calcDistanceVectors();
+	/**
+	 * The interned near and far distances for each <code>psize</code>
+	 */
+	private static final Map<Integer, float[][]> DISTANCES = new ConcurrentHashMap<>();
+
+	/**
+	 * The interned fade weights for each <code>psize</code> and fade
+	 */
+	private static final Map<FadeKey, float[]> FADES = new ConcurrentHashMap<>();
+
+	/**
+	 * Key of the interned fade weights
+	 */
+	private record FadeKey(int psize, PerlinFade fade) {}
+
+	PerlinOctave(int n, int psize, PerlinFade fade) {
+		this(n, psize, distances(psize)[0], distances(psize)[1],
+				FADES.computeIfAbsent(new FadeKey(psize, fade), k -> calcFade(psize, fade)));
 	}
 
 	/**
-	 * Calculates the distance of each pixel to the corresponding corner of each
-	 * {@link PerlinNoise#MASKS}
+	 * Finds the interned distances of each row and column to the corners
+	 * 
+	 * @param  psize
+	 *               The width and height of the octave
+	 * 
+	 * @return       The near distances at index 0 and the far distances at
+	 *               index 1
 	 */
-	void calcDistanceVectors() {
-		for (int x = 0; x < psize; x++) {
-			for (int y = 0; y < psize; y++) {
-				Vector2f pixel = new Vector2f((x) / (float) psize, (y) / (float) psize);
-				pixelDistanceVectors[PerlinNoise.TL][x][y] = Vector2f.sub(new Vector2f(0, 0), pixel);
-				pixelDistanceVectors[PerlinNoise.TR][x][y] = Vector2f.sub(new Vector2f(1, 0), pixel);
-				pixelDistanceVectors[PerlinNoise.BL][x][y] = Vector2f.sub(new Vector2f(0, 1), pixel);
-				pixelDistanceVectors[PerlinNoise.BR][x][y] = Vector2f.sub(new Vector2f(1, 1), pixel);
-			}
+	private static float[][] distances(int psize) {
+		return DISTANCES.computeIfAbsent(psize, PerlinOctave::calcDistances);
+	}
+
+	/**
+	 * Calculates the distance of each row and column to the corners
+	 * 
+	 * @param  psize
+	 *               The width and height of the octave
+	 * 
+	 * @return       The near distances at index 0 and the far distances at
+	 *               index 1
+	 */
+	private static float[][] calcDistances(int psize) {
+		float[][] d = new float[2][psize];
+		for (int i = 0; i < psize; i++) {
+			float pixel = i / (float) psize;
+			d[0][i] = 0 - pixel;
+			d[1][i] = 1 - pixel;
 		}
+		return d;
+	}
+
+	/**
+	 * Calculates the lerping weight of each row and column
+	 * 
+	 * @param  psize
+	 *               The width and height of the octave
+	 * @param  fade
+	 *               The smoothing function
+	 * 
+	 * @return       The weights
+	 */
+	private static float[] calcFade(int psize, PerlinFade fade) {
+		float[] f = new float[psize];
+		float p = 1f / psize;
+		for (int i = 0; i < psize; i++) { f[i] = fade.fade(i * p); }
+		return f;
 	}
-}
\ No newline at end of file
+}
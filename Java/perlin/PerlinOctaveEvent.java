@@ -0,0 +1,36 @@
+package perlin;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event spanning one octave of a chunk generated by
+ * {@link PerlinNoise}, its influence vectors and its kernel <br>
+ * Costs nothing beyond its allocation, which is usually eliminated, while no
+ * recording enables it
+ * 
+ * @author Gareth Kmet
+ */
+@Name("perlin.Octave")
+@Label("Perlin Octave")
+@Category("Perlin")
+@Description("Generation of one octave of a chunk")
+final class PerlinOctaveEvent extends jdk.jfr.Event {
+	@Label("Seed")
+	long seed;
+
+	@Label("Chunk X")
+	int cx;
+
+	@Label("Chunk Y")
+	int cy;
+
+	@Label("Octave")
+	@Description("The octave level, 0 is the main level")
+	int octave;
+
+	@Label("Sub Chunks")
+	int subChunks;
+}
@@ -0,0 +1,26 @@
+package perlin;
+
+/**
+ * Receives a chunk one row at a time from
+ * {@link PerlinNoise#perlinRows(long, int, int, PerlinRowSink)} <br>
+ * A row is the vectors <code>values[x][0..psize)</code> of the grid returned
+ * by {@link PerlinNoise#perlin}, so only one row of the chunk is held in
+ * memory at once
+ * 
+ * @author Gareth Kmet
+ */
+@FunctionalInterface
+public interface PerlinRowSink {
+	/**
+	 * Accepts a row of the chunk
+	 * 
+	 * @param row
+	 *               The x position of the row within the chunk
+	 * @param values
+	 *               The <code>psize * d</code> floats of the row, component
+	 *               <code>k</code> of the pixel <code>(row,y)</code> at
+	 *               <code>y * d + k</code>. The array is reused for the next
+	 *               row and must be copied to be kept
+	 */
+	public void accept(int row, float[] values);
+}
@@ -0,0 +1,116 @@
+package perlin;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the settings of a {@link PerlinNoise} <br>
+ * A generation reads the snapshot once at its start, so changing the settings
+ * from another thread never affects a generation in progress
+ * <p>
+ * Contains
+ * <ul>
+ * <li><b>octaves</b> The number of recursive algorithms the perlin noise will
+ * go through</li>
+ * <li><b>lacunarity</b> The number of subdivisions of chunks per octave (width
+ * and height)</li>
+ * <li><b>persistence</b> The exponential strength of each octave on the final
+ * result</li>
+ * <li><b>fade</b> The smoothing function used to lerp between corners</li>
+ * <li><b>octaveDataSets</b> The octave data of each octave, must not be
+ * modified</li>
+ * </ul>
+ *
+ * @author Gareth Kmet
+ */
+record PerlinSettings(int octaves, int lacunarity, float persistence, PerlinFade fade, PerlinOctave[] octaveDataSets) {
+
+	/**
+	 * Creates the settings and their octave data <br>
+	 * <b>Assertion:</b> the <code>psize</code> must be divisible by
+	 * <code>lacunarity^octave</code>
+	 *
+	 * @param  psize
+	 *                     The amount of pixels that the chunk is wide and tall
+	 * @param  octaves
+	 *                     The number of octaves to go through
+	 * @param  lacunarity
+	 *                     The number of subdivisions of chunks per octave
+	 * @param  persistence
+	 *                     The exponential strength of each octave
+	 * @param  fade
+	 *                     The smoothing function
+	 *
+	 * @return             The settings
+	 */
+	static PerlinSettings of(int psize, int octaves, int lacunarity, float persistence, PerlinFade fade) {
+		PerlinOctave[] octaveDataSets = new PerlinOctave[octaves];
+		for (int i = 0; i < octaves; i++) {
+			octaveDataSets[i] = new PerlinOctave(i, psize, fade);
+			psize /= lacunarity;
+		}
+		return new PerlinSettings(octaves, lacunarity, persistence, fade, octaveDataSets);
+	}
+
+	/**
+	 * Changes the number of octaves, keeping the octave data of the existing
+	 * octaves
+	 *
+	 * @param  octaves
+	 *                 The number of octaves to go through
+	 *
+	 * @return         The new settings
+	 */
+	PerlinSettings withOctaves(int octaves) {
+		PerlinOctave[] n = Arrays.copyOf(octaveDataSets, octaves);
+		int psize = octaveDataSets[octaveDataSets.length - 1].psize();
+		for (int i = this.octaves; i < octaves; i++) {
+			psize /= lacunarity;
+			n[i] = new PerlinOctave(i, psize, fade);
+		}
+		return new PerlinSettings(octaves, lacunarity, persistence, fade, n);
+	}
+
+	/**
+	 * Changes the persistence, keeping the octave data
+	 *
+	 * @param  persistence
+	 *                     The exponential strength of each octave
+	 *
+	 * @return             The new settings
+	 */
+	PerlinSettings withPersistence(float persistence) {
+		return new PerlinSettings(octaves, lacunarity, persistence, fade, octaveDataSets);
+	}
+
+	/**
+	 * Returns the width and height of the main chunk
+	 *
+	 * @return The <code>psize</code> of the main octave
+	 */
+	int psize() {
+		return octaveDataSets[0].psize();
+	}
+
+	/**
+	 * Finds the octave chunk data of a sub chunk within a main chunk
+	 *
+	 * @param  main
+	 *               The main level octave chunk data
+	 * @param  octn
+	 *               The octave level of the sub chunk
+	 * @param  i
+	 *               The x position of the sub chunk within the main chunk
+	 * @param  j
+	 *               The y position of the sub chunk within the main chunk
+	 *
+	 * @return       The octave chunk data, with its parents up to the main
+	 *               level
+	 */
+	PerlinNoise.PerlinOctaveChunkData octaveChunkData(PerlinNoise.PerlinOctaveChunkData main, int octn, int i, int j) {
+		if (octn == 0) { return main; }
+		PerlinNoise.PerlinOctaveChunkData parent = octaveChunkData(main, octn - 1, i / lacunarity, j / lacunarity);
+		int rx = i % lacunarity, ry = j % lacunarity;
+		return new PerlinNoise.PerlinOctaveChunkData(octn, rx, ry, parent.cx() * lacunarity + rx,
+				parent.cy() * lacunarity + ry, parent);
+	}
+}
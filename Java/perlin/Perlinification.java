@@ -1,8 +1,7 @@
 package perlin;
 
+import util.CounterRandom;
 import util.InnerProductFloatVectorSpace;
-import util.Util;
-import util.Vector2f;
 import util.Vector2v;
 
 /**
@@ -17,123 +16,597 @@ public final class Perlinification {
 	private Perlinification() {}
 
 	/**
-	 * Generates and stores the pixel masks for the chunk
+	 * Runs the perlin algorithm on the chunk and writes the result into a
+	 * region of a grid
+	 * <p>
+	 * For each pixel, this algorithm first dot-products the pixel's distance
+	 * vector and influence vector for each {@link PerlinNoise#MASKS}. Then it
+	 * horizontally lerps the top and bottom masks respectively and then
+	 * vertically lerps those two together with the fade weights of the octave.
+	 * All of this is done in a single pass, so no intermediate mask grid is
+	 * created
 	 * 
-	 * @author     Gareth Kmet
-	 *
-	 * @param  <E>
-	 *             The inner-product vector space that is being used
+	 * @param <E>
+	 *                    The inner product space
+	 * @param invecs
+	 *                    The given influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param dst
+	 *                    The destination grid
+	 * @param ox
+	 *                    The x position in the grid of the pixel
+	 *                    <code>(0,0)</code>
+	 * @param oy
+	 *                    The y position in the grid of the pixel
+	 *                    <code>(0,0)</code>
+	 * @param accumulate
+	 *                    If <code>true</code> the vectors of the grid are
+	 *                    scaled by the persistence in place and the result is
+	 *                    added to them, if <code>false</code> they are
+	 *                    replaced
+	 * @param persistence
+	 *                    The persistence to scale the grid with
 	 */
-	static final class Masks<E extends InnerProductFloatVectorSpace<E>> {
-		final E[][] TL, TR, BL, BR;
+	static <E extends InnerProductFloatVectorSpace<E>> void perlinAChunk(Vector2v<E>[] invecs, PerlinOctave oct,
+			E[][] dst, int ox, int oy, boolean accumulate, float persistence) {
+		int size = oct.psize();
+		perlinARegion(invecs, oct, 0, size, 0, size, 1, dst, ox, oy, accumulate, persistence);
+	}
 
-		final E[][][] m;
+	/**
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk and writes the result into a region of a grid
+	 * <br>
+	 * Same as
+	 * {@link #perlinAChunk(Vector2v[], PerlinOctave, InnerProductFloatVectorSpace[][], int, int, boolean, float)}
+	 * for the pixels <code>x = x0 + a * step &lt; x1</code> and
+	 * <code>y = y0 + b * step &lt; y1</code> only, the pixel being written at
+	 * <code>dst[ox + a][oy + b]</code>
+	 * <p>
+	 * The intermediate vectors of a pixel are written into scratch vectors
+	 * shared by every pixel, so a space overriding the destination-passing
+	 * operations, such as {@link util.Vectornf}, only creates the output
+	 * vectors of a replaced grid
+	 * 
+	 * @param <E>
+	 *                    The inner product space
+	 * @param invecs
+	 *                    The given influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param x0
+	 *                    The first x of the rectangle
+	 * @param x1
+	 *                    The x after the rectangle
+	 * @param y0
+	 *                    The first y of the rectangle
+	 * @param y1
+	 *                    The y after the rectangle
+	 * @param step
+	 *                    The distance between two computed pixels
+	 * @param dst
+	 *                    The destination grid
+	 * @param ox
+	 *                    The x position in the grid of the pixel
+	 *                    <code>(x0,y0)</code>
+	 * @param oy
+	 *                    The y position in the grid of the pixel
+	 *                    <code>(x0,y0)</code>
+	 * @param accumulate
+	 *                    If <code>true</code> the vectors of the grid are
+	 *                    scaled by the persistence in place and the result is
+	 *                    added to them, if <code>false</code> they are
+	 *                    replaced
+	 * @param persistence
+	 *                    The persistence to scale the grid with
+	 */
+	static <E extends InnerProductFloatVectorSpace<E>> void perlinARegion(Vector2v<E>[] invecs, PerlinOctave oct,
+			int x0, int x1, int y0, int y1, int step, E[][] dst, int ox, int oy, boolean accumulate,
+			float persistence) {
+		float[] fade = oct.fade();
 
-		/**
-		 * Generates empty masks
-		 * 
-		 * @param size
-		 *             - {@link PerlinChunk#pixelSize}
-		 */
-		@SuppressWarnings("unchecked")
-		private Masks(int size) {
-			m = (E[][][]) new InnerProductFloatVectorSpace[PerlinNoise.MASKS][][];
-			TL = (E[][]) new InnerProductFloatVectorSpace[size][size];
-			m[PerlinNoise.TL] = TL;
-			BL = (E[][]) new InnerProductFloatVectorSpace[size][size];
-			m[PerlinNoise.BL] = BL;
-			TR = (E[][]) new InnerProductFloatVectorSpace[size][size];
-			m[PerlinNoise.TR] = TR;
-			BR = (E[][]) new InnerProductFloatVectorSpace[size][size];
-			m[PerlinNoise.BR] = BR;
-		}
+		float[] near = oct.near(), far = oct.far();
+		Vector2v<E> iTL = invecs[PerlinNoise.TL], iTR = invecs[PerlinNoise.TR], iBL = invecs[PerlinNoise.BL],
+				iBR = invecs[PerlinNoise.BR];
+
+		// Scratch vectors reused by every pixel
+		E mTL = iTL.dot(0, 0), mTR = iTR.dot(0, 0), mBL = iBL.dot(0, 0), mBR = iBR.dot(0, 0);
+		E mT = iTL.dot(0, 0), mB = iTL.dot(0, 0), v = iTL.dot(0, 0);
+
+		for (int x = x0, gx = ox; x < x1; x += step, gx++) {
+			float fx = fade[x], nx = near[x], rx = far[x];
+			E[] row = dst[gx];
+			for (int y = y0, gy = oy; y < y1; y += step, gy++) {
+				float ny = near[y], ry = far[y];
+				mTL = iTL.dotInto(nx, ny, mTL);
+				mTR = iTR.dotInto(rx, ny, mTR);
+				mBL = iBL.dotInto(nx, ry, mBL);
+				mBR = iBR.dotInto(rx, ry, mBR);
+
+				mT = mTL.lerpInto(mTR, fx, mT);
+				mB = mBL.lerpInto(mBR, fx, mB);
 
+				if (accumulate) {
+					v = mT.lerpInto(mB, fade[y], v);
+					row[gy].iscale(persistence).iadd(v);
+				} else {
+					row[gy] = mT.lerp(mB, fade[y]);
+				}
+			}
+		}
 	}
 
 	/**
-	 * Runs the perlin algorithm on the chunk
-	 * <p>
-	 * This algorithm first dot-products the individual pixels' distance vector
-	 * and influence vector for each {@link PerlinNoise#MASKS}. Then it
-	 * horizontally lerps the top and bottom masks respectively and then
-	 * vertically lerps those two new masks together
+	 * Runs the perlin algorithm on a single point of a chunk <br>
+	 * Performs the same operations as
+	 * {@link #perlinAChunk(Vector2v[], PerlinOctave, InnerProductFloatVectorSpace[][], int, int, boolean, float)}
+	 * does for one pixel, so a point on a pixel gives the same vector
 	 * 
 	 * @param  <E>
 	 *                The inner product space
 	 * @param  invecs
 	 *                The given influence vectors
-	 * @param  oct
-	 *                The octave
+	 * @param  nx
+	 *                The x distance to the left corners, <code>0 - u</code>
+	 * @param  ny
+	 *                The y distance to the top corners, <code>0 - v</code>
+	 * @param  rx
+	 *                The x distance to the right corners, <code>1 - u</code>
+	 * @param  ry
+	 *                The y distance to the bottom corners, <code>1 - v</code>
+	 * @param  fx
+	 *                The horizontal lerping weight, the fade of
+	 *                <code>u</code>
+	 * @param  fy
+	 *                The vertical lerping weight, the fade of <code>v</code>
+	 * 
+	 * @return        The output vector
+	 */
+	static <E extends InnerProductFloatVectorSpace<E>> E perlinAPoint(Vector2v<E>[] invecs, float nx, float ny,
+			float rx, float ry, float fx, float fy) {
+		E mTL = invecs[PerlinNoise.TL].dot(nx, ny);
+		E mTR = invecs[PerlinNoise.TR].dot(rx, ny);
+		E mBL = invecs[PerlinNoise.BL].dot(nx, ry);
+		E mBR = invecs[PerlinNoise.BR].dot(rx, ry);
+
+		E mT = mTL.lerp(mTR, fx);
+		E mB = mBL.lerp(mBR, fx);
+		return mT.lerp(mB, fy);
+	}
+
+	/**
+	 * Runs the perlin algorithm on the chunk using float coordinates and
+	 * writes the result into a flat array
+	 * <p>
+	 * Performs the same operations as
+	 * {@link #perlinAChunk(Vector2v[], PerlinOctave, InnerProductFloatVectorSpace[][], int, int, boolean, float)}
+	 * one pixel at a time, without creating any vectors. The pixel
+	 * <code>(x,y)</code> component <code>k</code> is written at
+	 * <code>off + x * xs + y * ys + k * cs</code>
+	 * 
+	 * @param invecs
+	 *                    The coordinates of the influence vectors, the
+	 *                    component <code>k</code> of the first vector of
+	 *                    mask <code>m</code> is at <code>(2m) * d + k</code>
+	 *                    and of the second vector at <code>(2m+1) * d + k</code>
+	 * @param d
+	 *                    The dimension of the influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param dst
+	 *                    The destination array
+	 * @param off
+	 *                    The index of the first component of pixel
+	 *                    <code>(0,0)</code>
+	 * @param xs
+	 *                    The distance between pixels of consecutive
+	 *                    <code>x</code>
+	 * @param ys
+	 *                    The distance between pixels of consecutive
+	 *                    <code>y</code>
+	 * @param cs
+	 *                    The distance between consecutive components
+	 * @param accumulate
+	 *                    If <code>true</code> the destination is scaled by the
+	 *                    persistence and added to the result, if
+	 *                    <code>false</code> it is overwritten
+	 * @param persistence
+	 *                    The persistence to scale the destination with
+	 */
+	static void perlinAChunk(float[] invecs, int d, PerlinOctave oct, float[] dst, int off, int xs, int ys, int cs,
+			boolean accumulate, float persistence) {
+		int size = oct.psize();
+		perlinARegion(invecs, d, oct, 0, size, 0, size, 1, dst, off, xs, ys, cs, accumulate, persistence);
+	}
+
+	/**
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk using float coordinates and writes the result
+	 * into a flat array <br>
+	 * Same as
+	 * {@link #perlinAChunk(float[], int, PerlinOctave, float[], int, int, int, int, boolean, float)}
+	 * for the pixels <code>x = x0 + a * step &lt; x1</code> and
+	 * <code>y = y0 + b * step &lt; y1</code> only, the pixel being written at
+	 * <code>off + a * xs + b * ys</code>
 	 * 
-	 * @return        A 2D array of generated vectors for this chunk
+	 * @param invecs
+	 *                    The coordinates of the influence vectors
+	 * @param d
+	 *                    The dimension of the influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param x0
+	 *                    The first x of the rectangle
+	 * @param x1
+	 *                    The x after the rectangle
+	 * @param y0
+	 *                    The first y of the rectangle
+	 * @param y1
+	 *                    The y after the rectangle
+	 * @param step
+	 *                    The distance between two computed pixels
+	 * @param dst
+	 *                    The destination array
+	 * @param off
+	 *                    The index of the first component of pixel
+	 *                    <code>(x0,y0)</code>
+	 * @param xs
+	 *                    The distance between computed pixels of
+	 *                    consecutive <code>x</code>
+	 * @param ys
+	 *                    The distance between computed pixels of
+	 *                    consecutive <code>y</code>
+	 * @param cs
+	 *                    The distance between consecutive components
+	 * @param accumulate
+	 *                    If <code>true</code> the destination is scaled by the
+	 *                    persistence and added to the result, if
+	 *                    <code>false</code> it is overwritten
+	 * @param persistence
+	 *                    The persistence to scale the destination with
 	 */
-	static <E extends InnerProductFloatVectorSpace<E>> E[][] perlinAChunk(Vector2v<E>[] invecs, PerlinOctave oct) {
-		Masks<E> chunkMask = new Masks<E>(oct.psize());
-		for (int i = 0; i < PerlinNoise.MASKS; i++) { perlinAMask(i, chunkMask, oct, invecs); }
+	static void perlinARegion(float[] invecs, int d, PerlinOctave oct, int x0, int x1, int y0, int y1, int step,
+			float[] dst, int off, int xs, int ys, int cs, boolean accumulate, float persistence) {
+		float[] fade = oct.fade();
+
+		float[] near = oct.near(), far = oct.far();
+		int tl = 2 * PerlinNoise.TL * d, tr = 2 * PerlinNoise.TR * d, bl = 2 * PerlinNoise.BL * d,
+				br = 2 * PerlinNoise.BR * d;
 
-		E[][] mT = lerpMs(chunkMask.TL, chunkMask.TR, oct.psize(), true);
-		E[][] mB = lerpMs(chunkMask.BL, chunkMask.BR, oct.psize(), true);
-		E[][] mask = lerpMs(mT, mB, oct.psize(), false);
+		for (int x = x0, px = off; x < x1; x += step, px += xs) {
+			float fx = fade[x], gx = 1 - fx, nx = near[x], rx = far[x];
+			for (int y = y0, p = px; y < y1; y += step, p += ys) {
+				float fy = fade[y], gy = 1 - fy, ny = near[y], ry = far[y];
 
-		return mask;
+				for (int k = 0; k < d; k++) {
+					float mTL = invecs[tl + k] * nx + invecs[tl + d + k] * ny;
+					float mTR = invecs[tr + k] * rx + invecs[tr + d + k] * ny;
+					float mBL = invecs[bl + k] * nx + invecs[bl + d + k] * ry;
+					float mBR = invecs[br + k] * rx + invecs[br + d + k] * ry;
 
+					float mT = fx * mTR + gx * mTL;
+					float mB = fx * mBR + gx * mBL;
+					float v = fy * mB + gy * mT;
+
+					int i = p + k * cs;
+					dst[i] = accumulate ? v + dst[i] * persistence : v;
+				}
+			}
+		}
 	}
 
 	/**
-	 * Lerps two masks together
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk for influence vectors of dimension 1 <br>
+	 * Same as
+	 * {@link #perlinARegion(float[], int, PerlinOctave, int, int, int, int, int, float[], int, int, int, int, boolean, float)}
+	 * with <code>d = 1</code>, the components being unrolled into local
+	 * variables and the x products of each corner being computed once per
+	 * column
 	 * 
-	 * @param  <E>
-	 *              The inner product space
-	 * @param  m1
-	 *              The first mask
-	 * @param  m2
-	 *              The second mask
-	 * @param  size
-	 *              The width of the mask, {@link PerlinChunk#pixelSize}
-	 * @param  lr
-	 *              The directionality of the lerp (<code>true</code> for
-	 *              horizontal and <code>false</code> for vertical)
+	 * @see PerlinKernel
+	 */
+	static void perlinARegion1(float[] invecs, PerlinOctave oct, int x0, int x1, int y0, int y1, int step,
+			float[] dst, int off, int xs, int ys, int cs, boolean accumulate, float persistence) {
+		float[] fade = oct.fade();
+
+		float[] near = oct.near(), far = oct.far();
+		float aTL = invecs[0], bTL = invecs[1];
+		float aTR = invecs[2], bTR = invecs[3];
+		float aBL = invecs[4], bBL = invecs[5];
+		float aBR = invecs[6], bBR = invecs[7];
+
+		for (int x = x0, px = off; x < x1; x += step, px += xs) {
+			float fx = fade[x], gx = 1 - fx, nx = near[x], rx = far[x];
+			float cTL = aTL * nx, cTR = aTR * rx, cBL = aBL * nx, cBR = aBR * rx;
+			for (int y = y0, p = px; y < y1; y += step, p += ys) {
+				float fy = fade[y], gy = 1 - fy, ny = near[y], ry = far[y];
+
+				float v = fy * (fx * (cBR + bBR * ry) + gx * (cBL + bBL * ry))
+						+ gy * (fx * (cTR + bTR * ny) + gx * (cTL + bTL * ny));
+
+				if (accumulate) {
+					dst[p] = v + dst[p] * persistence;
+				} else {
+					dst[p] = v;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk for influence vectors of dimension 2 <br>
+	 * Same as
+	 * {@link #perlinARegion(float[], int, PerlinOctave, int, int, int, int, int, float[], int, int, int, int, boolean, float)}
+	 * with <code>d = 2</code>, the components being unrolled into local
+	 * variables and the x products of each corner being computed once per
+	 * column
+	 * 
+	 * @see PerlinKernel
+	 */
+	static void perlinARegion2(float[] invecs, PerlinOctave oct, int x0, int x1, int y0, int y1, int step,
+			float[] dst, int off, int xs, int ys, int cs, boolean accumulate, float persistence) {
+		float[] fade = oct.fade();
+
+		float[] near = oct.near(), far = oct.far();
+		float aTL0 = invecs[0], aTL1 = invecs[1], bTL0 = invecs[2], bTL1 = invecs[3];
+		float aTR0 = invecs[4], aTR1 = invecs[5], bTR0 = invecs[6], bTR1 = invecs[7];
+		float aBL0 = invecs[8], aBL1 = invecs[9], bBL0 = invecs[10], bBL1 = invecs[11];
+		float aBR0 = invecs[12], aBR1 = invecs[13], bBR0 = invecs[14], bBR1 = invecs[15];
+
+		for (int x = x0, px = off; x < x1; x += step, px += xs) {
+			float fx = fade[x], gx = 1 - fx, nx = near[x], rx = far[x];
+			float cTL0 = aTL0 * nx, cTL1 = aTL1 * nx, cTR0 = aTR0 * rx, cTR1 = aTR1 * rx, cBL0 = aBL0 * nx,
+					cBL1 = aBL1 * nx, cBR0 = aBR0 * rx, cBR1 = aBR1 * rx;
+			for (int y = y0, p = px; y < y1; y += step, p += ys) {
+				float fy = fade[y], gy = 1 - fy, ny = near[y], ry = far[y];
+
+				float v0 = fy * (fx * (cBR0 + bBR0 * ry) + gx * (cBL0 + bBL0 * ry))
+						+ gy * (fx * (cTR0 + bTR0 * ny) + gx * (cTL0 + bTL0 * ny));
+				float v1 = fy * (fx * (cBR1 + bBR1 * ry) + gx * (cBL1 + bBL1 * ry))
+						+ gy * (fx * (cTR1 + bTR1 * ny) + gx * (cTL1 + bTL1 * ny));
+
+				if (accumulate) {
+					dst[p] = v0 + dst[p] * persistence;
+					dst[p + cs] = v1 + dst[p + cs] * persistence;
+				} else {
+					dst[p] = v0;
+					dst[p + cs] = v1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk for influence vectors of dimension 3 <br>
+	 * Same as
+	 * {@link #perlinARegion(float[], int, PerlinOctave, int, int, int, int, int, float[], int, int, int, int, boolean, float)}
+	 * with <code>d = 3</code>, the components being unrolled into local
+	 * variables and the x products of each corner being computed once per
+	 * column
 	 * 
-	 * @return      The resulting mask
+	 * @see PerlinKernel
 	 */
-	@SuppressWarnings("unchecked")
-	private static <E extends InnerProductFloatVectorSpace<E>> E[][] lerpMs(E[][] m1, E[][] m2, int size, boolean lr) {
-		float psize = 1f / size;
+	static void perlinARegion3(float[] invecs, PerlinOctave oct, int x0, int x1, int y0, int y1, int step,
+			float[] dst, int off, int xs, int ys, int cs, boolean accumulate, float persistence) {
+		float[] fade = oct.fade();
 
-		E[][] mask = (E[][]) new InnerProductFloatVectorSpace[size][size];
+		float[] near = oct.near(), far = oct.far();
+		float aTL0 = invecs[0], aTL1 = invecs[1], aTL2 = invecs[2];
+		float bTL0 = invecs[3], bTL1 = invecs[4], bTL2 = invecs[5];
+		float aTR0 = invecs[6], aTR1 = invecs[7], aTR2 = invecs[8];
+		float bTR0 = invecs[9], bTR1 = invecs[10], bTR2 = invecs[11];
+		float aBL0 = invecs[12], aBL1 = invecs[13], aBL2 = invecs[14];
+		float bBL0 = invecs[15], bBL1 = invecs[16], bBL2 = invecs[17];
+		float aBR0 = invecs[18], aBR1 = invecs[19], aBR2 = invecs[20];
+		float bBR0 = invecs[21], bBR1 = invecs[22], bBR2 = invecs[23];
 
-		for (int x = 0; x < size; x++) {
-			for (int y = 0; y < size; y++) {
-				float aProp = (lr ? x : y) * psize;
-				mask[x][y] = Util.<E>lerps(m1[x][y], m2[x][y], aProp);
+		for (int x = x0, px = off; x < x1; x += step, px += xs) {
+			float fx = fade[x], gx = 1 - fx, nx = near[x], rx = far[x];
+			float cTL0 = aTL0 * nx, cTL1 = aTL1 * nx, cTL2 = aTL2 * nx, cTR0 = aTR0 * rx, cTR1 = aTR1 * rx,
+					cTR2 = aTR2 * rx, cBL0 = aBL0 * nx, cBL1 = aBL1 * nx, cBL2 = aBL2 * nx, cBR0 = aBR0 * rx,
+					cBR1 = aBR1 * rx, cBR2 = aBR2 * rx;
+			for (int y = y0, p = px; y < y1; y += step, p += ys) {
+				float fy = fade[y], gy = 1 - fy, ny = near[y], ry = far[y];
+
+				float v0 = fy * (fx * (cBR0 + bBR0 * ry) + gx * (cBL0 + bBL0 * ry))
+						+ gy * (fx * (cTR0 + bTR0 * ny) + gx * (cTL0 + bTL0 * ny));
+				float v1 = fy * (fx * (cBR1 + bBR1 * ry) + gx * (cBL1 + bBL1 * ry))
+						+ gy * (fx * (cTR1 + bTR1 * ny) + gx * (cTL1 + bTL1 * ny));
+				float v2 = fy * (fx * (cBR2 + bBR2 * ry) + gx * (cBL2 + bBL2 * ry))
+						+ gy * (fx * (cTR2 + bTR2 * ny) + gx * (cTL2 + bTL2 * ny));
+
+				if (accumulate) {
+					dst[p] = v0 + dst[p] * persistence;
+					dst[p + cs] = v1 + dst[p + cs] * persistence;
+					dst[p + 2 * cs] = v2 + dst[p + 2 * cs] * persistence;
+				} else {
+					dst[p] = v0;
+					dst[p + cs] = v1;
+					dst[p + 2 * cs] = v2;
+				}
 			}
 		}
+	}
+
+	/**
+	 * Runs the perlin algorithm on every <code>step</code>-th pixel of a
+	 * rectangle of the chunk for influence vectors of dimension 4 <br>
+	 * Same as
+	 * {@link #perlinARegion(float[], int, PerlinOctave, int, int, int, int, int, float[], int, int, int, int, boolean, float)}
+	 * with <code>d = 4</code>, the components being unrolled into local
+	 * variables and the x products of each corner being computed once per
+	 * column
+	 * 
+	 * @see PerlinKernel
+	 */
+	static void perlinARegion4(float[] invecs, PerlinOctave oct, int x0, int x1, int y0, int y1, int step,
+			float[] dst, int off, int xs, int ys, int cs, boolean accumulate, float persistence) {
+		float[] fade = oct.fade();
+
+		float[] near = oct.near(), far = oct.far();
+		float aTL0 = invecs[0], aTL1 = invecs[1], aTL2 = invecs[2], aTL3 = invecs[3];
+		float bTL0 = invecs[4], bTL1 = invecs[5], bTL2 = invecs[6], bTL3 = invecs[7];
+		float aTR0 = invecs[8], aTR1 = invecs[9], aTR2 = invecs[10], aTR3 = invecs[11];
+		float bTR0 = invecs[12], bTR1 = invecs[13], bTR2 = invecs[14], bTR3 = invecs[15];
+		float aBL0 = invecs[16], aBL1 = invecs[17], aBL2 = invecs[18], aBL3 = invecs[19];
+		float bBL0 = invecs[20], bBL1 = invecs[21], bBL2 = invecs[22], bBL3 = invecs[23];
+		float aBR0 = invecs[24], aBR1 = invecs[25], aBR2 = invecs[26], aBR3 = invecs[27];
+		float bBR0 = invecs[28], bBR1 = invecs[29], bBR2 = invecs[30], bBR3 = invecs[31];
+
+		for (int x = x0, px = off; x < x1; x += step, px += xs) {
+			float fx = fade[x], gx = 1 - fx, nx = near[x], rx = far[x];
+			float cTL0 = aTL0 * nx, cTL1 = aTL1 * nx, cTL2 = aTL2 * nx, cTL3 = aTL3 * nx, cTR0 = aTR0 * rx,
+					cTR1 = aTR1 * rx, cTR2 = aTR2 * rx, cTR3 = aTR3 * rx, cBL0 = aBL0 * nx, cBL1 = aBL1 * nx,
+					cBL2 = aBL2 * nx, cBL3 = aBL3 * nx, cBR0 = aBR0 * rx, cBR1 = aBR1 * rx, cBR2 = aBR2 * rx,
+					cBR3 = aBR3 * rx;
+			for (int y = y0, p = px; y < y1; y += step, p += ys) {
+				float fy = fade[y], gy = 1 - fy, ny = near[y], ry = far[y];
 
-		return mask;
+				float v0 = fy * (fx * (cBR0 + bBR0 * ry) + gx * (cBL0 + bBL0 * ry))
+						+ gy * (fx * (cTR0 + bTR0 * ny) + gx * (cTL0 + bTL0 * ny));
+				float v1 = fy * (fx * (cBR1 + bBR1 * ry) + gx * (cBL1 + bBL1 * ry))
+						+ gy * (fx * (cTR1 + bTR1 * ny) + gx * (cTL1 + bTL1 * ny));
+				float v2 = fy * (fx * (cBR2 + bBR2 * ry) + gx * (cBL2 + bBL2 * ry))
+						+ gy * (fx * (cTR2 + bTR2 * ny) + gx * (cTL2 + bTL2 * ny));
+				float v3 = fy * (fx * (cBR3 + bBR3 * ry) + gx * (cBL3 + bBL3 * ry))
+						+ gy * (fx * (cTR3 + bTR3 * ny) + gx * (cTL3 + bTL3 * ny));
+
+				if (accumulate) {
+					dst[p] = v0 + dst[p] * persistence;
+					dst[p + cs] = v1 + dst[p + cs] * persistence;
+					dst[p + 2 * cs] = v2 + dst[p + 2 * cs] * persistence;
+					dst[p + 3 * cs] = v3 + dst[p + 3 * cs] * persistence;
+				} else {
+					dst[p] = v0;
+					dst[p + cs] = v1;
+					dst[p + 2 * cs] = v2;
+					dst[p + 3 * cs] = v3;
+				}
+			}
+		}
 	}
 
 	/**
-	 * Runs the dot-product of the pixel distance vector and the influence
-	 * vector of the chunk respective of a given mask
+	 * Runs the perlin algorithm on the chunk for scalar influence vectors and
+	 * writes the result into a flat array <br>
+	 * Same as
+	 * {@link #perlinAChunk(float[], int, PerlinOctave, float[], int, int, int, int, boolean, float)}
+	 * with <code>d = 1</code> and consecutive <code>y</code>, the x products
+	 * of each corner being computed once per column
 	 * 
-	 * @param <E>
-	 *               The inner product space
-	 * @param mask
-	 *               The index of the current mask to be perlined
-	 * @param masks
-	 *               The {@link PerlinNoise#MASKS}
+	 * @param invecs
+	 *                    The coordinates of the influence vectors, the first
+	 *                    coordinate of mask <code>m</code> is at
+	 *                    <code>2m</code> and the second at
+	 *                    <code>2m + 1</code>
+	 * @param oct
+	 *                    The octave
+	 * @param dst
+	 *                    The destination array
+	 * @param off
+	 *                    The index of pixel <code>(0,0)</code>
+	 * @param xs
+	 *                    The distance between pixels of consecutive
+	 *                    <code>x</code>
+	 * @param accumulate
+	 *                    If <code>true</code> the destination is scaled by the
+	 *                    persistence and added to the result, if
+	 *                    <code>false</code> it is overwritten
+	 * @param persistence
+	 *                    The persistence to scale the destination with
+	 */
+	static void perlinAScalarChunk(float[] invecs, PerlinOctave oct, float[] dst, int off, int xs,
+			boolean accumulate, float persistence) {
+		int size = oct.psize();
+		for (int x = 0, px = off; x < size; x++, px += xs) {
+			perlinAScalarRow(invecs, oct, x, dst, px, accumulate, persistence);
+		}
+	}
+
+	/**
+	 * Runs the perlin algorithm on the chunk for scalar influence vectors and
+	 * writes the result into a grid <br>
+	 * Same as
+	 * {@link #perlinAScalarChunk(float[], PerlinOctave, float[], int, int, boolean, float)}
+	 * with the pixel <code>(x,y)</code> at <code>dst[x0 + x][y0 + y]</code>
+	 * 
+	 * @param invecs
+	 *                    The coordinates of the influence vectors
 	 * @param oct
-	 *               The octave data
+	 *                    The octave
+	 * @param dst
+	 *                    The destination grid
+	 * @param x0
+	 *                    The x of pixel <code>(0,0)</code> in the grid
+	 * @param y0
+	 *                    The y of pixel <code>(0,0)</code> in the grid
+	 * @param accumulate
+	 *                    If <code>true</code> the destination is scaled by the
+	 *                    persistence and added to the result, if
+	 *                    <code>false</code> it is overwritten
+	 * @param persistence
+	 *                    The persistence to scale the destination with
+	 */
+	static void perlinAScalarChunk(float[] invecs, PerlinOctave oct, float[][] dst, int x0, int y0,
+			boolean accumulate, float persistence) {
+		int size = oct.psize();
+		for (int x = 0; x < size; x++) { perlinAScalarRow(invecs, oct, x, dst[x0 + x], y0, accumulate, persistence); }
+	}
+
+	/**
+	 * Runs the perlin algorithm on the pixels of a given <code>x</code> of
+	 * the chunk for scalar influence vectors, the x products of each corner
+	 * being computed once
+	 * 
 	 * @param invecs
-	 *               The influence vectors
+	 *                    The coordinates of the influence vectors
+	 * @param oct
+	 *                    The octave
+	 * @param x
+	 *                    The x of the pixels
+	 * @param dst
+	 *                    The destination array
+	 * @param off
+	 *                    The index of pixel <code>(x,0)</code>, the following
+	 *                    <code>y</code> being consecutive
+	 * @param accumulate
+	 *                    If <code>true</code> the destination is scaled by the
+	 *                    persistence and added to the result, if
+	 *                    <code>false</code> it is overwritten
+	 * @param persistence
+	 *                    The persistence to scale the destination with
 	 */
-	private static <E extends InnerProductFloatVectorSpace<E>> void perlinAMask(int mask, Masks<E> masks,
-			PerlinOctave oct, Vector2v<E>[] invecs) {
-		for (int x = 0; x < oct.psize(); x++) {
-			for (int y = 0; y < oct.psize(); y++) {
-				Vector2f pixelMaskVector = oct.pixelDistanceVectors()[mask][x][y];
-				masks.m[mask][x][y] = Vector2v.<E>dot(invecs[mask], pixelMaskVector);
-			}
+	private static void perlinAScalarRow(float[] invecs, PerlinOctave oct, int x, float[] dst, int off,
+			boolean accumulate, float persistence) {
+		int size = oct.psize();
+		float[] fade = oct.fade();
+
+		float[] near = oct.near(), far = oct.far();
+		float aTL = invecs[2 * PerlinNoise.TL], bTL = invecs[2 * PerlinNoise.TL + 1];
+		float aTR = invecs[2 * PerlinNoise.TR], bTR = invecs[2 * PerlinNoise.TR + 1];
+		float aBL = invecs[2 * PerlinNoise.BL], bBL = invecs[2 * PerlinNoise.BL + 1];
+		float aBR = invecs[2 * PerlinNoise.BR], bBR = invecs[2 * PerlinNoise.BR + 1];
+
+		float fx = fade[x], gx = 1 - fx;
+		float cTL = aTL * near[x], cTR = aTR * far[x], cBL = aBL * near[x], cBR = aBR * far[x];
+		for (int y = 0; y < size; y++) {
+			float fy = fade[y], gy = 1 - fy, ny = near[y], ry = far[y];
+
+			float mTL = cTL + bTL * ny;
+			float mTR = cTR + bTR * ny;
+			float mBL = cBL + bBL * ry;
+			float mBR = cBR + bBR * ry;
+
+			float mT = fx * mTR + gx * mTL;
+			float mB = fx * mBR + gx * mBL;
+			float v = fy * mB + gy * mT;
+
+			int i = off + y;
+			dst[i] = accumulate ? v + dst[i] * persistence : v;
 		}
 	}
 
@@ -143,7 +616,9 @@ public final class Perlinification {
 	 * <p>
 	 * Methods can return <code>null</code> to use the default methods for a
 	 * chunk <br>
-	 * Methods should return the same value for equal spiral indices
+	 * Methods should return the same value for equal spiral indices <br>
+	 * {@link #cornerHash} gives cheap stateless randomness for a corner,
+	 * identical for every chunk sharing the corner
 	 * 
 	 * @author     Gareth Kmet
 	 * 
@@ -151,14 +626,59 @@ public final class Perlinification {
 	 *             The inner product space
 	 */
 	public interface PerlinInfluenceGenerator<E extends InnerProductFloatVectorSpace<E>> {
+		/**
+		 * The {@link #cornerHash} streams used by {@link PerlinNoise} in
+		 * {@link PerlinNoise.RandomMode#HASHED}
+		 * <p>
+		 * <b>ANGLE_STREAM</b> - The angle of the influence vector <br>
+		 * <b>POSSIBILITY_STREAM</b> - The index of the picked possibility
+		 */
+		public static final int ANGLE_STREAM = 0, POSSIBILITY_STREAM = 1;
+
+		/**
+		 * Returns a stateless random hash for a chunk corner <br>
+		 * The hash only depends on the lattice location of the corner, so the
+		 * neighbouring chunks sharing a corner get the same hash. Use
+		 * {@link CounterRandom#toFloat} and {@link CounterRandom#toInt} to
+		 * convert it, and streams other than {@link #ANGLE_STREAM} and
+		 * {@link #POSSIBILITY_STREAM} for values independent of the default
+		 * ones
+		 * 
+		 * @param  seed
+		 *                  The seed given to the generator
+		 * @param  octLevel
+		 *                  The octave level of the chunk, <code>0</code> for
+		 *                  the main level
+		 * @param  cx
+		 *                  The x position of the chunk
+		 * @param  cy
+		 *                  The y position of the chunk
+		 * @param  mask
+		 *                  The {@link PerlinNoise#MASKS}
+		 * @param  stream
+		 *                  The index of an independent value for the corner
+		 * 
+		 * @return          The random hash
+		 */
+		public static long cornerHash(long seed, int octLevel, int cx, int cy, int mask, int stream) {
+			return CounterRandom.hash(seed, octLevel, PerlinNoise.cornerX(cx, mask), PerlinNoise.cornerY(cy, mask),
+					stream);
+		}
+
 		/**
 		 * Returns an influence for a given chunk corner on the first octave
+		 * <br>
+		 * Forwards to the <code>int</code> variant with the spiral index
+		 * truncated to an <code>int</code>, which is the index it was given
+		 * before the index was widened, so existing generators keep their
+		 * results
 		 * 
 		 * @param  seed
 		 *                     The seed that would be used to generate the
 		 *                     random index
 		 * @param  spiralIndex
-		 *                     The unique index of the corner
+		 *                     The unique index of the corner, see
+		 *                     {@link PerlinNoise.RandomMode}
 		 * @param  cx
 		 *                     The x position of the chunk
 		 * @param  cy
@@ -169,17 +689,51 @@ public final class Perlinification {
 		 * @return             The influence vector to be used for this corner
 		 *                     or <code>null</code> to use the default methods
 		 */
-		public E perlinMainInfluenceVector(long seed, int spiralIndex, int cx, int cy, int mask);
+		public default E perlinMainInfluenceVector(long seed, long spiralIndex, int cx, int cy, int mask) {
+			return perlinMainInfluenceVector(seed, (int) spiralIndex, cx, cy, mask);
+		}
+
+		/**
+		 * Returns an influence for a given chunk corner on the first octave
+		 * 
+		 * @param      seed
+		 *                         The seed that would be used to generate the
+		 *                         random index
+		 * @param      spiralIndex
+		 *                         The unique index of the corner, truncated
+		 *                         to an <code>int</code>
+		 * @param      cx
+		 *                         The x position of the chunk
+		 * @param      cy
+		 *                         The y position of a chunk
+		 * @param      mask
+		 *                         The {@link PerlinNoise#MASKS}
+		 * 
+		 * @return                 The influence vector to be used for this
+		 *                         corner or <code>null</code> to use the
+		 *                         default methods
+		 * 
+		 * @deprecated             Override
+		 *                         {@link #perlinMainInfluenceVector(long, long, int, int, int)},
+		 *                         which is the one called
+		 */
+		@Deprecated
+		public default E perlinMainInfluenceVector(long seed, int spiralIndex, int cx, int cy, int mask) {
+			return null;
+		}
 
 		/**
 		 * Returns an influence vector for a given chunk corner on the
-		 * subsequent octaves
+		 * subsequent octaves <br>
+		 * Forwards to the <code>int</code> variant like
+		 * {@link #perlinMainInfluenceVector(long, long, int, int, int)}
 		 * 
 		 * @param  seed
 		 *                     The seed that would be used to generate the
 		 *                     random index
 		 * @param  spiralIndex
-		 *                     The unique index of the corner
+		 *                     The unique index of the corner, see
+		 *                     {@link PerlinNoise.RandomMode}
 		 * @param  mask
 		 *                     The {@link PerlinNoise#MASKS}
 		 * @param  octData
@@ -189,6 +743,36 @@ public final class Perlinification {
 		 * @return             The influence vector to be used for this corner
 		 *                     or <code>null</code> to use the default methods
 		 */
+		public default E perlinOctInfluenceVector(long seed, long spiralIndex, int mask,
+				PerlinNoise.PerlinOctaveChunkData octData) {
+			return perlinOctInfluenceVector(seed, (int) spiralIndex, mask, octData);
+		}
+
+		/**
+		 * Returns an influence vector for a given chunk corner on the
+		 * subsequent octaves
+		 * 
+		 * @param      seed
+		 *                         The seed that would be used to generate the
+		 *                         random index
+		 * @param      spiralIndex
+		 *                         The unique index of the corner, truncated
+		 *                         to an <code>int</code>
+		 * @param      mask
+		 *                         The {@link PerlinNoise#MASKS}
+		 * @param      octData
+		 *                         The {@link PerlinOctaveChunkData} of the
+		 *                         octave chunk
+		 * 
+		 * @return                 The influence vector to be used for this
+		 *                         corner or <code>null</code> to use the
+		 *                         default methods
+		 * 
+		 * @deprecated             Override
+		 *                         {@link #perlinOctInfluenceVector(long, long, int, PerlinNoise.PerlinOctaveChunkData)},
+		 *                         which is the one called
+		 */
+		@Deprecated
 		public default E perlinOctInfluenceVector(long seed, int spiralIndex, int mask,
 				PerlinNoise.PerlinOctaveChunkData octData) {
 			return null;
@@ -0,0 +1,254 @@
+package perlin;
+
+import perlin.PerlinNoise.PerlinOctaveChunkData;
+import perlin.PerlinNoise.RandomMode;
+import perlin.Perlinification.PerlinInfluenceGenerator;
+import util.IndexedRandom;
+
+/**
+ * The Perlin Noise algorithm for scalar influence vectors, working entirely on
+ * floats <br>
+ * Gives the same values as a {@link PerlinNoise} of {@link util.Vectornf} of
+ * dimension 1 with the same possibilities, seed, octaves, lacunarity,
+ * persistence, fade and {@link RandomMode}. For example
+ * <code>new ScalarPerlinNoise(psize, new float[] { 1 })</code> matches
+ * <code>new PerlinNoise&lt;&gt;(Vectornf.class, psize, Vectornf.genStandardVectors(1))</code>
+ * <p>
+ * No vector is created, neither per pixel nor per corner, so this is the fast
+ * path for heightmaps and other scalar fields. Custom
+ * {@link PerlinInfluenceGenerator}, caches and parallelism are not supported,
+ * use {@link PerlinNoise} for them
+ * <p>
+ * An instance can be shared between threads. The settings are replaced as an
+ * immutable {@link PerlinSettings} snapshot which each generation reads once
+ *
+ * @author Gareth Kmet
+ */
+public final class ScalarPerlinNoise {
+	/**
+	 * The indexed random generator used to generate chunk influence vectors,
+	 * <code>null</code> in {@link RandomMode#HASHED}
+	 */
+	private final IndexedRandom random;
+
+	/**
+	 * The source of randomness for the influence vectors
+	 */
+	private final RandomMode randomMode;
+
+	/**
+	 * The octaves, lacunarity, persistence, fade and octave data, replaced as
+	 * a whole whenever one of them changes
+	 */
+	private volatile PerlinSettings settings;
+
+	/**
+	 * Different scalars that the influence vectors can be
+	 */
+	private final float[] possibilities;
+
+	/**
+	 * The amount of pixels that the chunk is wide and tall
+	 */
+	private final int psize;
+
+	/**
+	 * Generates a new scalar PerlinNoise algorithm instance with a set square
+	 * pixel size
+	 *
+	 * @param psize
+	 *                      The amount of pixels that the chunk is wide and tall
+	 * @param possibilities
+	 *                      The set of scalar influence vectors
+	 */
+	public ScalarPerlinNoise(int psize, float[] possibilities) {
+		this(psize, possibilities, RandomMode.INDEXED);
+	}
+
+	/**
+	 * Generates a new scalar PerlinNoise algorithm instance with a set square
+	 * pixel size
+	 *
+	 * @param psize
+	 *                      The amount of pixels that the chunk is wide and tall
+	 * @param possibilities
+	 *                      The set of scalar influence vectors
+	 * @param randomMode
+	 *                      The source of randomness for the influence vectors
+	 */
+	public ScalarPerlinNoise(int psize, float[] possibilities, RandomMode randomMode) {
+		if (possibilities.length == 0) { throw new IllegalArgumentException("at least one possibility is needed"); }
+		this.psize = psize;
+		this.randomMode = randomMode;
+		random = randomMode != RandomMode.HASHED ? new IndexedRandom() : null;
+		this.possibilities = possibilities.clone();
+		settings = PerlinSettings.of(psize, 1, 1, 0.5f, PerlinFade.QUINTIC);
+	}
+
+	/**
+	 * Sets the octaves and lacunarity of the algorithm, see
+	 * {@link PerlinNoise#setOctaves(int, int)}
+	 *
+	 * @param octaves
+	 *                   The number of octaves to go through
+	 * @param lacunarity
+	 *                   The number of subdivisions of chunks per octave
+	 */
+	public synchronized void setOctaves(int octaves, int lacunarity) {
+		PerlinSettings s = settings;
+		settings = PerlinSettings.of(psize, octaves, lacunarity, s.persistence(), s.fade());
+	}
+
+	/**
+	 * Sets the octaves, lacunarity and persistence of the algorithm, see
+	 * {@link PerlinNoise#setOctaves(int, int, float)}
+	 *
+	 * @param octaves
+	 *                    The number of octaves to go through
+	 * @param lacunarity
+	 *                    The number of subdivisions of chunks per octave
+	 * @param persistence
+	 *                    The exponential strength of each octave
+	 */
+	public synchronized void setOctaves(int octaves, int lacunarity, float persistence) {
+		settings = PerlinSettings.of(psize, octaves, lacunarity, persistence, settings.fade());
+	}
+
+	/**
+	 * Sets the persistence of the algorithm
+	 *
+	 * @param persistence
+	 *                    The exponential strength of each octave
+	 */
+	public synchronized void setPersistence(float persistence) { settings = settings.withPersistence(persistence); }
+
+	/**
+	 * Sets the smoothing function used to lerp between corners
+	 *
+	 * @param fade
+	 *             The {@link PerlinFade}
+	 */
+	public synchronized void setFade(PerlinFade fade) {
+		PerlinSettings s = settings;
+		settings = PerlinSettings.of(psize, s.octaves(), s.lacunarity(), s.persistence(), fade);
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code>
+	 *
+	 * @param  seed
+	 *              The seed to randomly generate influence vectors
+	 * @param  cx
+	 *              The x position of the chunk
+	 * @param  cy
+	 *              The y position of the chunk
+	 *
+	 * @return      The output values, indexed <code>[x][y]</code>
+	 */
+	public float[][] perlin(long seed, int cx, int cy) {
+		float[][] values = new float[psize][psize];
+		perlin(seed, cx, cy, values, null, 0);
+		return values;
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk located at position
+	 * <code>(cx,cy)</code> and writes the output values into a flat array
+	 *
+	 * @param seed
+	 *               The seed to randomly generate influence vectors
+	 * @param cx
+	 *               The x position of the chunk
+	 * @param cy
+	 *               The y position of the chunk
+	 * @param dst
+	 *               The destination array, the pixel <code>(x,y)</code> is
+	 *               written at <code>offset + x * psize + y</code>
+	 * @param offset
+	 *               The index of the first float written
+	 */
+	public void perlinInto(long seed, int cx, int cy, float[] dst, int offset) {
+		if (offset < 0 || dst.length - offset < psize * psize) {
+			throw new IndexOutOfBoundsException("destination too small for a chunk of " + psize * psize + " floats");
+		}
+		perlin(seed, cx, cy, null, dst, offset);
+	}
+
+	/**
+	 * Runs the perlin noise algorithm for a chunk into either a grid or a flat
+	 * array
+	 *
+	 * @param seed
+	 *               The seed to randomly generate influence vectors
+	 * @param cx
+	 *               The x position of the chunk
+	 * @param cy
+	 *               The y position of the chunk
+	 * @param grid
+	 *               The destination grid, indexed <code>[x][y]</code>, or
+	 *               <code>null</code> to write into the flat array
+	 * @param flat
+	 *               The destination flat array, see
+	 *               {@link #perlinInto(long, int, int, float[], int)}
+	 * @param offset
+	 *               The index of the first float written in the flat array
+	 */
+	private void perlin(long seed, int cx, int cy, float[][] grid, float[] flat, int offset) {
+		PerlinSettings s = settings;
+		PerlinOctaveChunkData main = new PerlinOctaveChunkData(0, cx, cy, cx, cy, null);
+		float[] invecs = new float[2 * PerlinNoise.MASKS];
+
+		// Accumulate the octaves from the finest, p = pixs + p * persistence
+		for (int octn = s.octaves() - 1; octn >= 0; octn--) {
+			PerlinOctave oct = s.octaveDataSets()[octn];
+			int size = oct.psize(), n = psize / size;
+			boolean accumulate = octn < s.octaves() - 1;
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					genInfluenceVectors(seed + octn, s.octaveChunkData(main, octn, i, j), invecs);
+					if (grid != null) {
+						Perlinification.perlinAScalarChunk(invecs, oct, grid, i * size, j * size, accumulate,
+								s.persistence());
+					} else {
+						int off = offset + (i * psize + j) * size;
+						Perlinification.perlinAScalarChunk(invecs, oct, flat, off, psize, accumulate, s.persistence());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates the random influence vectors of a chunk, the layout used by
+	 * {@link Perlinification#perlinAScalarChunk(float[], PerlinOctave, float[], int, int, boolean, float)}
+	 *
+	 * @param seed
+	 *               The seed to randomly generate the influence vectors
+	 * @param c
+	 *               The octave chunk data of the chunk
+	 * @param invecs
+	 *               The array to write the coordinates into, of length
+	 *               <code>2 * MASKS</code>
+	 */
+	private void genInfluenceVectors(long seed, PerlinOctaveChunkData c, float[] invecs) {
+		for (int mask = 0; mask < PerlinNoise.MASKS; mask++) {
+			long spiralIndex = randomMode.spiralIndex(PerlinNoise.cornerX(c.cx(), mask),
+					PerlinNoise.cornerY(c.cy(), mask));
+			PerlinNoise.cornerDirection(randomMode, random, seed, spiralIndex, mask, c, invecs, 2 * mask);
+			float p = possibilities[PerlinNoise.cornerPossibility(randomMode, random, possibilities.length, seed,
+					c.octLevel(), spiralIndex, c.cx(), c.cy(), mask)];
+
+			// The possibility scaled by the direction
+			invecs[2 * mask] *= p;
+			invecs[2 * mask + 1] *= p;
+		}
+	}
+
+	@Override
+	public String toString() {
+		PerlinSettings s = settings;
+		return "ScalarPerlinNoise [psize=" + psize + ", octaves=" + s.octaves() + ", lacunarity=" + s.lacunarity()
+				+ ", persistence=" + s.persistence() + ", randomMode=" + randomMode + "]";
+	}
+}
@@ -0,0 +1,55 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import org.junit.jupiter.api.Test;
+
+import util.Vectornf;
+
+/**
+ * Tests the {@link PerlinChunkCache} in front of
+ * {@link PerlinNoise#perlin(long, int, int, java.util.function.Consumer)}
+ *
+ * @author Gareth Kmet
+ */
+class PerlinChunkCacheTest {
+	@Test
+	void hitsGiveTheGeneratedChunk() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(32, 3, 2, 2);
+		long expected = PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2);
+
+		PerlinChunkCache<Vectornf> cache = new PerlinChunkCache<>(1 << 20);
+		p.setChunkCache(cache);
+		assertEquals(expected, PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2));
+		assertEquals(expected, PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2));
+		assertEquals(1, cache.hits());
+		assertEquals(1, cache.misses());
+	}
+
+	@Test
+	void modifyingAReturnedChunkLeavesTheCache() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(32, 3, 2, 2);
+		long expected = PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2);
+		p.setChunkCache(new PerlinChunkCache<>(1 << 20));
+
+		Vectornf[][] missed = p.perlin(6, 1, -1, v -> v.iscale(100));
+		Vectornf[][] hit = p.perlin(6, 1, -1, v -> v.iscale(100));
+		assertNotSame(missed, hit);
+		assertEquals(expected, PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2));
+	}
+
+	@Test
+	void settingsChangesMissTheCache() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(32, 3, 2, 2);
+		PerlinChunkCache<Vectornf> cache = new PerlinChunkCache<>(1 << 20);
+		p.setChunkCache(cache);
+		p.perlin(6, 1, -1, v -> {});
+		p.setPersistence(0.25f);
+		long changed = PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2);
+
+		p.setChunkCache(null);
+		assertEquals(PerlinNoiseBaselineTest.hash(p.perlin(6, 1, -1, v -> {}), 2), changed);
+		assertEquals(0, cache.hits());
+	}
+}
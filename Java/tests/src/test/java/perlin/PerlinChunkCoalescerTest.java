@@ -0,0 +1,94 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import util.Vectornf;
+
+/**
+ * Tests that {@link PerlinChunkCoalescer} shares one generation between
+ * concurrent requests while each request keeps its own future
+ *
+ * @author Gareth Kmet
+ */
+class PerlinChunkCoalescerTest {
+	private final PerlinNoise<Vectornf> noise = PerlinNoiseBaselineTest.noise(32, 3, 2, 2);
+	private final PerlinChunkCoalescer<Vectornf> coalescer = new PerlinChunkCoalescer<>(noise);
+
+	/**
+	 * Holds the submitted tasks until they are run by hand
+	 */
+	private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+	private final Executor manual = tasks::add;
+
+	@Test
+	void concurrentRequestsShareOneGeneration() throws Exception {
+		CompletableFuture<Vectornf[][]> a = coalescer.perlinAsync(1, 2, 3, manual),
+				b = coalescer.perlinAsync(1, 2, 3, manual);
+		assertEquals(1, tasks.size());
+		assertEquals(1, coalescer.inFlight());
+		tasks.poll().run();
+
+		assertEquals(PerlinNoiseBaselineTest.hash(noise.perlin(1, 2, 3, v -> {}), 2),
+				PerlinNoiseBaselineTest.hash(a.get(), 2));
+		assertEquals(PerlinNoiseBaselineTest.hash(a.get(), 2), PerlinNoiseBaselineTest.hash(b.get(), 2));
+		assertEquals(1, coalescer.generated());
+		assertEquals(1, coalescer.coalesced());
+		assertEquals(0, coalescer.inFlight());
+
+		// A finished chunk is generated again
+		coalescer.perlinAsync(1, 2, 3, manual);
+		assertEquals(1, tasks.size());
+	}
+
+	@Test
+	void cancellingOneRequestLeavesTheOthers() throws Exception {
+		CompletableFuture<Vectornf[][]> a = coalescer.perlinAsync(1, 2, 3, manual),
+				b = coalescer.perlinAsync(1, 2, 3, manual);
+		assertNotSame(a, b);
+		assertTrue(a.cancel(true));
+		tasks.poll().run();
+
+		assertTrue(a.isCancelled());
+		assertEquals(PerlinNoiseBaselineTest.hash(noise.perlin(1, 2, 3, v -> {}), 2),
+				PerlinNoiseBaselineTest.hash(b.get(), 2));
+	}
+
+	@Test
+	void rejectionLeavesNothingInFlight() throws Exception {
+		Executor rejecting = t -> {
+			throw new RejectedExecutionException("saturated");
+		};
+		assertThrows(RejectedExecutionException.class, () -> coalescer.perlinAsync(1, 2, 3, rejecting));
+		assertEquals(0, coalescer.inFlight());
+
+		CompletableFuture<Vectornf[][]> retried = coalescer.perlinAsync(1, 2, 3, manual);
+		tasks.poll().run();
+		assertEquals(PerlinNoiseBaselineTest.hash(noise.perlin(1, 2, 3, v -> {}), 2),
+				PerlinNoiseBaselineTest.hash(retried.get(), 2));
+	}
+
+	@Test
+	void failedGenerationReachesEveryRequest() {
+		PerlinChunkCoalescer<Vectornf> failing = new PerlinChunkCoalescer<>(
+				new PerlinNoise<>(Vectornf.class, 16, Vectornf.genStandardVectors(2)));
+		// The corner beyond the int spiral cannot pick among several possibilities
+		CompletableFuture<Vectornf[][]> a = failing.perlinAsync(1, -23171, 0, manual),
+				b = failing.perlinAsync(1, -23171, 0, manual);
+		tasks.poll().run();
+		ExecutionException e = assertThrows(ExecutionException.class, a::get);
+		assertTrue(e.getCause() instanceof IllegalArgumentException);
+		assertThrows(ExecutionException.class, b::get);
+		assertThrows(IllegalArgumentException.class, () -> failing.perlin(1, -23171, 0));
+	}
+}
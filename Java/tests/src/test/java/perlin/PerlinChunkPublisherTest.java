@@ -0,0 +1,176 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import perlin.PerlinChunkPublisher.PerlinChunk;
+import perlin.PerlinNoise.PerlinChunkLocation;
+import util.Vectornf;
+
+/**
+ * Tests the demand, ordering and termination of {@link PerlinChunkPublisher}
+ *
+ * @author Gareth Kmet
+ */
+class PerlinChunkPublisherTest {
+	private final PerlinNoise<Vectornf> noise = PerlinNoiseBaselineTest.noise(16, 2, 2, 2);
+	private final List<PerlinChunkLocation> locations = PerlinNoise.rectangle(-2, -2, 4, 4);
+
+	/**
+	 * Records the signals it receives and requests through a callback
+	 */
+	private static final class Recorder implements Flow.Subscriber<PerlinChunk<Vectornf>> {
+		final List<PerlinChunk<Vectornf>> chunks = new ArrayList<>();
+		final CountDownLatch terminated = new CountDownLatch(1);
+		final Consumer<Recorder> onNext;
+		Flow.Subscription subscription;
+		Throwable error;
+		int terminals;
+
+		Recorder(Consumer<Recorder> onNext) {
+			this.onNext = onNext;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(PerlinChunk<Vectornf> chunk) {
+			chunks.add(chunk);
+			onNext.accept(this);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			terminals++;
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			terminals++;
+			terminated.countDown();
+		}
+	}
+
+	@Test
+	void deliversEveryChunkInOrder() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			PerlinChunkPublisher<Vectornf> publisher = new PerlinChunkPublisher<>(noise, 7, locations.iterator(),
+					executor, 4);
+			Recorder r = new Recorder(s -> s.subscription.request(1));
+			publisher.subscribe(r);
+			r.subscription.request(1);
+			assertTrue(r.terminated.await(20, TimeUnit.SECONDS));
+
+			assertNull(r.error);
+			assertEquals(locations.size(), r.chunks.size());
+			for (int i = 0; i < locations.size(); i++) {
+				PerlinChunkLocation c = locations.get(i);
+				assertEquals(c, r.chunks.get(i).location());
+				assertEquals(PerlinNoiseBaselineTest.hash(noise.perlin(7, c.cx(), c.cy(), v -> {}), 2),
+						PerlinNoiseBaselineTest.hash(r.chunks.get(i).values(), 2));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void startsOnlyRequestedChunks() {
+		int[] read = { 0 };
+		Iterator<PerlinChunkLocation> it = locations.iterator();
+		Iterator<PerlinChunkLocation> counting = new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public PerlinChunkLocation next() {
+				read[0]++;
+				return it.next();
+			}
+		};
+		PerlinChunkPublisher<Vectornf> publisher = new PerlinChunkPublisher<>(noise, 7, counting, Runnable::run, 2);
+		Recorder r = new Recorder(s -> {});
+		publisher.subscribe(r);
+		assertEquals(0, read[0]);
+		r.subscription.request(3);
+		assertEquals(3, r.chunks.size());
+		assertEquals(3, read[0]);
+	}
+
+	@Test
+	void throwingSubscriberIsCancelled() {
+		PerlinChunkPublisher<Vectornf> publisher = new PerlinChunkPublisher<>(noise, 7, locations.iterator(),
+				Runnable::run, 4);
+		Recorder r = new Recorder(s -> {
+			if (s.chunks.size() == 2) { throw new IllegalStateException("subscriber failure"); }
+		});
+		publisher.subscribe(r);
+		r.subscription.request(8);
+		r.subscription.request(5);
+		assertEquals(2, r.chunks.size());
+		assertEquals(0, r.terminals);
+	}
+
+	@Test
+	void cancelStopsDelivery() {
+		PerlinChunkPublisher<Vectornf> publisher = new PerlinChunkPublisher<>(noise, 7, locations.iterator(),
+				Runnable::run, 4);
+		Recorder r = new Recorder(s -> s.subscription.cancel());
+		publisher.subscribe(r);
+		r.subscription.request(4);
+		r.subscription.request(4);
+		assertEquals(1, r.chunks.size());
+		assertEquals(0, r.terminals);
+	}
+
+	@Test
+	void rejectedGenerationFailsTheSubscriber() {
+		PerlinChunkPublisher<Vectornf> publisher = new PerlinChunkPublisher<>(noise, 7, locations.iterator(), t -> {
+			throw new RejectedExecutionException("saturated");
+		}, 4);
+		Recorder r = new Recorder(s -> {});
+		publisher.subscribe(r);
+		r.subscription.request(1);
+		assertInstanceOf(RejectedExecutionException.class, r.error);
+		assertEquals(1, r.terminals);
+		r.subscription.request(1);
+		assertEquals(1, r.terminals);
+	}
+
+	@Test
+	void invalidRequestAndSecondSubscriberFail() {
+		PerlinChunkPublisher<Vectornf> publisher = new PerlinChunkPublisher<>(noise, 7, locations.iterator(),
+				Runnable::run, 4);
+		Recorder first = new Recorder(s -> {}), second = new Recorder(s -> {});
+		publisher.subscribe(first);
+		publisher.subscribe(second);
+		assertInstanceOf(IllegalStateException.class, second.error);
+
+		first.subscription.request(0);
+		assertInstanceOf(IllegalArgumentException.class, first.error);
+		assertEquals(0, first.chunks.size());
+	}
+}
@@ -0,0 +1,137 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import perlin.PerlinNoise.PerlinChunkLocation;
+import util.Vectornf;
+
+/**
+ * Tests the queue, cancellation and rejection handling of
+ * {@link PerlinChunkScheduler}
+ *
+ * @author Gareth Kmet
+ */
+class PerlinChunkSchedulerTest {
+	private final PerlinNoise<Vectornf> noise = PerlinNoiseBaselineTest.noise(16, 1, 2, 2);
+	private final Map<PerlinChunkLocation, Vectornf[][]> delivered = new HashMap<>();
+
+	/**
+	 * Holds the submitted tasks until they are run by hand, or rejects them
+	 */
+	private static final class ManualExecutor implements Executor {
+		final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+		boolean reject;
+
+		@Override
+		public void execute(Runnable command) {
+			if (reject) { throw new RejectedExecutionException("saturated"); }
+			tasks.add(command);
+		}
+
+		void runAll() {
+			while (!tasks.isEmpty()) { tasks.poll().run(); }
+		}
+	}
+
+	/**
+	 * The number of chunk centers within a radius of <code>(0,0)</code>
+	 */
+	private static int chunksWithin(float radius) {
+		int n = 0;
+		for (int cx = -5; cx <= 5; cx++) {
+			for (int cy = -5; cy <= 5; cy++) {
+				if (Math.hypot(cx + 0.5, cy + 0.5) <= radius) { n++; }
+			}
+		}
+		return n;
+	}
+
+	@Test
+	void sameThreadExecutorRunsOutsideTheLock() {
+		PerlinChunkScheduler<?>[] scheduler = new PerlinChunkScheduler<?>[1];
+		boolean[] held = { false };
+		PerlinChunkScheduler<Vectornf> s = new PerlinChunkScheduler<>(noise, 3, Runnable::run, 2, 2, 0, (c, v) -> {
+			held[0] |= Thread.holdsLock(scheduler[0]);
+			delivered.put(c, v);
+		});
+		scheduler[0] = s;
+		s.update(0, 0, 0, 0);
+
+		assertFalse(held[0]);
+		assertEquals(chunksWithin(2), delivered.size());
+		for (Map.Entry<PerlinChunkLocation, Vectornf[][]> e : delivered.entrySet()) {
+			PerlinChunkLocation c = e.getKey();
+			assertEquals(PerlinNoiseBaselineTest.hash(noise.perlin(3, c.cx(), c.cy(), v -> {}), 2),
+					PerlinNoiseBaselineTest.hash(e.getValue(), 2));
+		}
+
+		// Delivered chunks are not generated again while they stay in the area
+		s.update(0, 0, 0, 0);
+		assertEquals(chunksWithin(2), s.completed());
+	}
+
+	@Test
+	void rejectedChunksStayQueued() {
+		ManualExecutor executor = new ManualExecutor();
+		PerlinChunkScheduler<Vectornf> s = new PerlinChunkScheduler<>(noise, 3, executor, 2, 2, 0, delivered::put);
+		executor.reject = true;
+		assertThrows(RejectedExecutionException.class, () -> s.update(0, 0, 0, 0));
+		assertEquals(0, s.running());
+		assertEquals(chunksWithin(2), s.queueDepth());
+
+		executor.reject = false;
+		s.update(0, 0, 0, 0);
+		executor.runAll();
+		assertEquals(chunksWithin(2), delivered.size());
+		assertEquals(0, s.dropped());
+	}
+
+	@Test
+	void chunksLeavingTheAreaAreDroppedOrCancelled() {
+		ManualExecutor executor = new ManualExecutor();
+		PerlinChunkScheduler<Vectornf> s = new PerlinChunkScheduler<>(noise, 3, executor, 2, 2, 0, delivered::put);
+		s.update(0, 0, 0, 0);
+		assertEquals(2, executor.tasks.size());
+
+		// Two chunks are started and the others queued, then the viewer leaves
+		s.update(100, 100, 0, 0);
+		assertEquals(chunksWithin(2) - 2, s.dropped());
+		Runnable first = executor.tasks.poll(), second = executor.tasks.poll();
+		first.run();
+		second.run();
+		assertEquals(2, s.cancelled());
+		assertEquals(0, delivered.size());
+
+		executor.runAll();
+		assertEquals(chunksWithin(2), delivered.size());
+		for (PerlinChunkLocation c : delivered.keySet()) { assertTrue(Math.abs(c.cx() - 100) <= 3); }
+	}
+
+	@Test
+	void throwingSinkStillDispatches() {
+		ManualExecutor executor = new ManualExecutor();
+		PerlinChunkScheduler<Vectornf> s = new PerlinChunkScheduler<>(noise, 3, executor, 1, 2, 0, (c, v) -> {
+			throw new IllegalStateException("sink failure");
+		});
+		s.update(0, 0, 0, 0);
+		int runs = 0;
+		while (!executor.tasks.isEmpty()) {
+			Runnable r = executor.tasks.poll();
+			assertThrows(IllegalStateException.class, r::run);
+			runs++;
+		}
+		assertEquals(chunksWithin(2), runs);
+		assertEquals(0, s.running());
+	}
+}
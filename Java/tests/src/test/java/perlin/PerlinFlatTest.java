@@ -0,0 +1,147 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import perlin.PerlinNoise.PerlinChunkLocation;
+import util.InnerProductFloatVectorSpace;
+import util.Vectornf;
+
+/**
+ * Tests that the flat <code>float[]</code> outputs give the vectors of
+ * {@link PerlinNoise#perlin(long, int, int, java.util.function.Consumer)}
+ *
+ * @author Gareth Kmet
+ */
+class PerlinFlatTest {
+	/**
+	 * The index of a coordinate in a flat chunk
+	 */
+	static int index(PerlinLayout layout, int w, int d, int x, int y, int k) {
+		return x * layout.xStride(w, d) + y * layout.yStride(w, d) + k * layout.componentStride(w, d);
+	}
+
+	static void assertChunk(Vectornf[][] expected, float[] actual, int offset, PerlinLayout layout, int d) {
+		int w = expected.length;
+		for (int x = 0; x < w; x++) {
+			for (int y = 0; y < w; y++) {
+				for (int k = 0; k < d; k++) {
+					assertEquals(Float.floatToRawIntBits(expected[x][y].get(k)),
+							Float.floatToRawIntBits(actual[offset + index(layout, w, d, x, y, k)]));
+				}
+			}
+		}
+	}
+
+	@Test
+	void perlinIntoMatchesPerlin() {
+		for (int d = 1; d <= 5; d++) {
+			PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(32, 3, 2, d);
+			Vectornf[][] expected = p.perlin(11, -3, 4, v -> {});
+			for (PerlinLayout layout : PerlinLayout.values()) {
+				float[] dst = new float[5 + 32 * 32 * d];
+				p.perlinInto(11, -3, 4, dst, 5, layout);
+				assertChunk(expected, dst, 5, layout, d);
+			}
+		}
+	}
+
+	@Test
+	void perlinRowsMatchesPerlin() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(27, 3, 3, 3);
+		Vectornf[][] expected = p.perlin(2, 1, 1, v -> {});
+		int[] next = { 0 };
+		p.perlinRows(2, 1, 1, (x, row) -> {
+			assertEquals(next[0]++, x);
+			for (int y = 0; y < 27; y++) {
+				for (int k = 0; k < 3; k++) {
+					assertEquals(Float.floatToRawIntBits(expected[x][y].get(k)),
+							Float.floatToRawIntBits(row[y * 3 + k]));
+				}
+			}
+		});
+		assertEquals(27, next[0]);
+	}
+
+	@Test
+	void batchPerlinIntoMatchesPerlin() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(16, 2, 2, 2);
+		List<PerlinChunkLocation> chunks = List.of(new PerlinChunkLocation(0, 0), new PerlinChunkLocation(-1, 2),
+				new PerlinChunkLocation(3, -3));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			float[] dst = new float[chunks.size() * 16 * 16 * 2];
+			p.perlinInto(4, chunks, dst, 0, PerlinLayout.PLANAR, executor);
+			for (int i = 0; i < chunks.size(); i++) {
+				PerlinChunkLocation c = chunks.get(i);
+				assertChunk(p.perlin(4, c.cx(), c.cy(), v -> {}), dst, i * 16 * 16 * 2, PerlinLayout.PLANAR, 2);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void smallDestinationIsRejected() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(16, 1, 2, 2);
+		assertThrows(IndexOutOfBoundsException.class, () -> p.perlinInto(0, 0, 0, new float[16 * 16 * 2 - 1], 0,
+				PerlinLayout.INTERLEAVED));
+		assertThrows(IndexOutOfBoundsException.class, () -> p.perlinInto(0, 0, 0, new float[16 * 16 * 2], 1,
+				PerlinLayout.INTERLEAVED));
+	}
+
+	/**
+	 * A space which implements only the abstract operations
+	 */
+	static final class Scalar implements InnerProductFloatVectorSpace<Scalar> {
+		float x;
+
+		Scalar(float x) {
+			this.x = x;
+		}
+
+		@Override
+		public Scalar add(Scalar b) {
+			return new Scalar(x + b.x);
+		}
+
+		@Override
+		public Scalar iadd(Scalar b) {
+			x += b.x;
+			return this;
+		}
+
+		@Override
+		public Scalar scale(float f) {
+			return new Scalar(x * f);
+		}
+
+		@Override
+		public Scalar iscale(float f) {
+			x *= f;
+			return this;
+		}
+
+		@Override
+		public float dot(Scalar b) {
+			return x * b.x;
+		}
+	}
+
+	@Test
+	void spaceWithoutCoordinatesOnlySupportsVectors() {
+		PerlinNoise<Scalar> p = new PerlinNoise<>(Scalar.class, 8, new Scalar[] { new Scalar(1), new Scalar(-1) });
+		assertEquals(0, new Scalar(1).size());
+		assertThrows(IndexOutOfBoundsException.class, () -> new Scalar(1).get(0));
+		assertNotNull(p.perlin(1, 0, 0, v -> {}));
+		assertThrows(UnsupportedOperationException.class,
+				() -> p.perlinInto(1, 0, 0, new float[64], 0, PerlinLayout.INTERLEAVED));
+	}
+}
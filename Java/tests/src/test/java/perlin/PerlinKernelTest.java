@@ -0,0 +1,107 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import util.InnerProductFloatVectorSpace;
+import util.Vectornf;
+
+/**
+ * Tests that the kernels specialised for a dimension give the vectors of the
+ * generic algorithm
+ *
+ * @author Gareth Kmet
+ */
+class PerlinKernelTest {
+	/**
+	 * A space delegating to {@link Vectornf}, which is not routed through the
+	 * kernels and so runs the generic algorithm
+	 */
+	static final class Delegate implements InnerProductFloatVectorSpace<Delegate> {
+		final Vectornf v;
+
+		Delegate(Vectornf v) {
+			this.v = v;
+		}
+
+		@Override
+		public Delegate add(Delegate b) {
+			return new Delegate(v.add(b.v));
+		}
+
+		@Override
+		public Delegate iadd(Delegate b) {
+			v.iadd(b.v);
+			return this;
+		}
+
+		@Override
+		public Delegate scale(float f) {
+			return new Delegate(v.scale(f));
+		}
+
+		@Override
+		public Delegate iscale(float f) {
+			v.iscale(f);
+			return this;
+		}
+
+		@Override
+		public float dot(Delegate b) {
+			return v.dot(b.v);
+		}
+
+		@Override
+		public Delegate lerp(Delegate b, float f) {
+			return new Delegate(v.lerp(b.v, f));
+		}
+
+		@Override
+		public int size() {
+			return v.size();
+		}
+
+		@Override
+		public float get(int i) {
+			return v.get(i);
+		}
+	}
+
+	@Test
+	void kernelsMatchGenericAlgorithm() {
+		for (int d = 1; d <= 6; d++) {
+			Vectornf[] standard = Vectornf.genStandardVectors(d);
+			Delegate[] possibilities = new Delegate[d];
+			for (int i = 0; i < d; i++) { possibilities[i] = new Delegate(standard[i]); }
+			PerlinNoise<Delegate> generic = new PerlinNoise<>(Delegate.class, 32, possibilities);
+			generic.setOctaves(3, 2, 0.5f);
+			PerlinNoise<Vectornf> kernel = PerlinNoiseBaselineTest.noise(32, 3, 2, d);
+
+			for (int c = -1; c <= 1; c++) {
+				Delegate[][] expected = generic.perlin(8, c, 2 * c, v -> {});
+				Vectornf[][] actual = kernel.perlin(8, c, 2 * c, v -> {});
+				float[] flat = new float[32 * 32 * d];
+				kernel.perlinInto(8, c, 2 * c, flat, 0, PerlinLayout.INTERLEAVED);
+				for (int x = 0; x < 32; x++) {
+					for (int y = 0; y < 32; y++) {
+						for (int k = 0; k < d; k++) {
+							int bits = Float.floatToRawIntBits(expected[x][y].get(k));
+							assertEquals(bits, Float.floatToRawIntBits(actual[x][y].get(k)), "d=" + d);
+							assertEquals(bits, Float.floatToRawIntBits(flat[(x * 32 + y) * d + k]), "flat d=" + d);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void smallDimensionsHaveHandWrittenKernels() {
+		assertSame(PerlinKernel.D1, PerlinKernel.of(1));
+		assertSame(PerlinKernel.D2, PerlinKernel.of(2));
+		assertSame(PerlinKernel.D3, PerlinKernel.of(3));
+		assertSame(PerlinKernel.D4, PerlinKernel.of(4));
+	}
+}
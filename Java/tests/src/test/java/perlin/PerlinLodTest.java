@@ -0,0 +1,55 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import util.Vectornf;
+
+/**
+ * Tests that the level of detail outputs give every <code>2^lod</code>-th
+ * pixel of the full resolution chunk
+ *
+ * @author Gareth Kmet
+ */
+class PerlinLodTest {
+	@Test
+	void lodMatchesFullResolution() {
+		int[][] settings = { { 64, 4, 2 }, { 81, 3, 3 }, { 48, 3, 2 }, { 64, 6, 2 } };
+		for (int seed = 0; seed < 12; seed++) {
+			for (int[] s : settings) {
+				for (int d = 1; d <= 3; d++) {
+					PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(s[0], s[1], s[2], d);
+					Vectornf[][] full = p.perlin(seed, seed % 5 - 2, 3, v -> {});
+					for (int lod = 0; s[0] % (1 << lod) == 0; lod++) { assertLod(p, full, seed, lod, d); }
+				}
+			}
+		}
+	}
+
+	private static void assertLod(PerlinNoise<Vectornf> p, Vectornf[][] full, int seed, int lod, int d) {
+		int st = 1 << lod, w = full.length / st;
+		Vectornf[][] vectors = p.perlin(seed, seed % 5 - 2, 3, lod, v -> {});
+		float[] flat = new float[w * w * d];
+		p.perlinInto(seed, seed % 5 - 2, 3, lod, flat, 0, PerlinLayout.PLANAR);
+		assertEquals(w, vectors.length);
+		for (int x = 0; x < w; x++) {
+			for (int y = 0; y < w; y++) {
+				for (int k = 0; k < d; k++) {
+					// Raw bits, so a -0.0 where full resolution gives 0.0 fails
+					int expected = Float.floatToRawIntBits(full[x * st][y * st].get(k));
+					assertEquals(expected, Float.floatToRawIntBits(vectors[x][y].get(k)), "lod " + lod);
+					assertEquals(expected, Float.floatToRawIntBits(flat[k * w * w + x * w + y]), "flat lod " + lod);
+				}
+			}
+		}
+	}
+
+	@Test
+	void lodMustDivideTheChunk() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(48, 1, 2, 1);
+		assertThrows(IllegalArgumentException.class, () -> p.perlin(0, 0, 0, 5, v -> {}));
+		assertThrows(IllegalArgumentException.class, () -> p.perlin(0, 0, 0, -1, v -> {}));
+	}
+}
@@ -0,0 +1,105 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import perlin.PerlinNoise.PerlinOctaveChunkData;
+import perlin.PerlinNoise.RandomMode;
+import perlin.Perlinification.PerlinInfluenceGenerator;
+import util.Util;
+import util.Vectornf;
+
+/**
+ * Tests that {@link PerlinNoise#perlin(long, int, int, java.util.function.Consumer)}
+ * reproduces the chunks of the original implementation bit for bit
+ *
+ * @author Gareth Kmet
+ */
+class PerlinNoiseBaselineTest {
+	/**
+	 * The psize, octaves, lacunarity, dimension, seed, chunk and the hash of
+	 * the chunk generated by the original implementation
+	 */
+	private static final long[][] BASELINE = {
+			{ 16, 1, 2, 2, 42L, 0, 0, 6446973689352416101L },
+			{ 16, 1, 2, 2, 42L, -1, 3, 7448320619662308731L },
+			{ 64, 4, 2, 1, 1646419626L, 5, -7, 3534931339624533468L },
+			{ 81, 3, 3, 3, -9L, -2, 2, -3020972103616112928L },
+			{ 64, 3, 2, 4, 7L, 12, 40, -6713837854295997415L } };
+
+	/**
+	 * Hashes the raw bits of every coordinate of a chunk
+	 */
+	static long hash(Vectornf[][] values, int d) {
+		long h = 17;
+		for (Vectornf[] row : values) {
+			for (Vectornf v : row) {
+				for (int k = 0; k < d; k++) { h = h * 31 + Float.floatToRawIntBits(v.get(k)); }
+			}
+		}
+		return h;
+	}
+
+	static PerlinNoise<Vectornf> noise(int psize, int octaves, int lacunarity, int d) {
+		PerlinNoise<Vectornf> p = new PerlinNoise<>(Vectornf.class, psize, Vectornf.genStandardVectors(d));
+		p.setOctaves(octaves, lacunarity, 0.5f);
+		return p;
+	}
+
+	@Test
+	void perlinMatchesBaseline() {
+		for (long[] c : BASELINE) {
+			PerlinNoise<Vectornf> p = noise((int) c[0], (int) c[1], (int) c[2], (int) c[3]);
+			assertEquals(c[7], hash(p.perlin(c[4], (int) c[5], (int) c[6], v -> {}), (int) c[3]));
+		}
+	}
+
+	@Test
+	void wrappedIndexKeepsBaselineAngle() {
+		// Beyond the int spiral the original drew the angle -1 for every corner
+		PerlinNoise<Vectornf> p = new PerlinNoise<>(Vectornf.class, 16, new Vectornf[] { new Vectornf(1f, 0f) });
+		p.setOctaves(3, 2);
+		assertEquals(597908542926292258L, hash(p.perlin(42L, -23171, 0, v -> {}), 2));
+	}
+
+	@Test
+	void wrappedIndexRejectsPossibilities() {
+		PerlinNoise<Vectornf> p = new PerlinNoise<>(Vectornf.class, 16, Vectornf.genStandardVectors(2), null,
+				RandomMode.INDEXED);
+		assertThrows(IllegalArgumentException.class, () -> p.perlin(42L, -23171, 0, v -> {}));
+		for (RandomMode mode : new RandomMode[] { RandomMode.INDEXED_WIDE, RandomMode.HASHED }) {
+			PerlinNoise<Vectornf> q = new PerlinNoise<>(Vectornf.class, 16, Vectornf.genStandardVectors(2), null,
+					mode);
+			assertNotNull(q.perlin(42L, -23171, 0, v -> {}));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void intGeneratorsReceiveTheIntIndex() {
+		List<Integer> indices = new ArrayList<>();
+		PerlinInfluenceGenerator<Vectornf> generator = new PerlinInfluenceGenerator<>() {
+			@Override
+			public Vectornf perlinMainInfluenceVector(long seed, int spiralIndex, int cx, int cy, int mask) {
+				indices.add(spiralIndex);
+				return new Vectornf(1f, 0f);
+			}
+
+			@Override
+			public Vectornf perlinOctInfluenceVector(long seed, int spiralIndex, int mask,
+					PerlinOctaveChunkData octData) {
+				return null;
+			}
+		};
+		PerlinNoise<Vectornf> p = new PerlinNoise<>(Vectornf.class, 16, Vectornf.genStandardVectors(2), generator);
+		p.perlin(3L, 24000, -24000, v -> {});
+		assertTrue(indices.contains(Util.pointToSpiral(24000, -24000)));
+	}
+}
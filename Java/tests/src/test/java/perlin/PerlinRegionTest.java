@@ -0,0 +1,64 @@
+package perlin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import util.Vectornf;
+
+/**
+ * Tests that {@link PerlinNoise#generateRegion(long, int, int, int, int, float[])}
+ * gives the pixels of the chunks it spans, without seams at their borders
+ *
+ * @author Gareth Kmet
+ */
+class PerlinRegionTest {
+	private static void assertRegion(int psize, int octaves, int lacunarity, int d, int x0, int y0, int width,
+			int height) {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(psize, octaves, lacunarity, d);
+		float[] region = new float[width * height * d];
+		p.generateRegion(9, x0, y0, width, height, region);
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				int gx = x0 + x, gy = y0 + y;
+				Vectornf[][] chunk = p.perlin(9, Math.floorDiv(gx, psize), Math.floorDiv(gy, psize), v -> {});
+				Vectornf v = chunk[Math.floorMod(gx, psize)][Math.floorMod(gy, psize)];
+				for (int k = 0; k < d; k++) {
+					assertEquals(Float.floatToRawIntBits(v.get(k)),
+							Float.floatToRawIntBits(region[(x * height + y) * d + k]), "pixel " + gx + "," + gy);
+				}
+			}
+		}
+	}
+
+	@Test
+	void regionSpanningChunksMatchesChunks() {
+		assertRegion(16, 3, 2, 2, -20, -5, 60, 35);
+	}
+
+	@Test
+	void regionInsideOneChunkMatchesChunk() {
+		assertRegion(27, 3, 3, 1, 3, 4, 7, 20);
+	}
+
+	@Test
+	void regionOnChunkBordersMatchesChunks() {
+		assertRegion(16, 4, 2, 3, -16, 16, 32, 1);
+		assertRegion(16, 4, 2, 3, 15, -17, 2, 2);
+	}
+
+	@Test
+	void samplesOnPixelsMatchChunks() {
+		PerlinNoise<Vectornf> p = PerlinNoiseBaselineTest.noise(16, 3, 2, 2);
+		Vectornf[][] chunk = p.perlin(9, -1, 2, v -> {});
+		for (int x = 0; x < 16; x += 3) {
+			for (int y = 0; y < 16; y += 5) {
+				Vectornf v = p.sample(9, -16 + x, 32 + y);
+				for (int k = 0; k < 2; k++) {
+					assertEquals(Float.floatToRawIntBits(chunk[x][y].get(k)), Float.floatToRawIntBits(v.get(k)));
+				}
+			}
+		}
+	}
+}
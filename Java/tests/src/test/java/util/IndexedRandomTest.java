@@ -0,0 +1,81 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link IndexedRandom} and the indexed methods of {@link Util}
+ * give the values of a {@link Random} drawn in sequence
+ *
+ * @author Gareth Kmet
+ */
+class IndexedRandomTest {
+	private static final long[] SEEDS = { 0, 1, -1, 42, 1646419626L, Long.MIN_VALUE };
+
+	@Test
+	void floatAtIndexMatchesSequence() {
+		IndexedRandom indexed = new IndexedRandom();
+		for (long seed : SEEDS) {
+			Random random = new Random(seed);
+			for (int i = 0; i < 5000; i++) {
+				float f = random.nextFloat(2 * (float) Math.PI);
+				assertEquals(Float.floatToRawIntBits(f),
+						Float.floatToRawIntBits(indexed.floatAtIndex(i, seed, 2 * (float) Math.PI)));
+			}
+		}
+	}
+
+	@Test
+	void intAtIndexMatchesSequence() {
+		IndexedRandom indexed = new IndexedRandom();
+		// 3 rarely rejects a draw, 2^30 + 1 rejects about half of them
+		for (int bound : new int[] { 3, 16, (1 << 30) + 1 }) {
+			for (long seed : SEEDS) {
+				Random random = new Random(seed);
+				for (int i = 0; i < 5000; i++) { assertEquals(random.nextInt(bound), indexed.intAtIndex(i, seed, bound)); }
+			}
+		}
+	}
+
+	@Test
+	void intAtIndexJumpsOutOfOrder() {
+		IndexedRandom indexed = new IndexedRandom();
+		int bound = (1 << 30) + 1, n = 200000;
+		int[] expected = new int[n];
+		Random random = new Random(7);
+		for (int i = 0; i < n; i++) { expected[i] = random.nextInt(bound); }
+
+		for (int i = n - 1; i >= 0; i -= 997) { assertEquals(expected[i], indexed.intAtIndex(i, 7, bound)); }
+	}
+
+	@Test
+	void negativeIndexIsRejected() {
+		IndexedRandom indexed = new IndexedRandom();
+		assertThrows(IllegalArgumentException.class, () -> indexed.floatAtIndex(-1, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> indexed.intAtIndex(-1, 0, 3));
+	}
+
+	@Test
+	void utilLeavesRandomAfterIndex() {
+		Random random = new Random(), sequence = new Random(99);
+		for (int i = 0; i <= 1234; i++) { sequence.nextFloat(1); }
+		Util.getRandomFloatAtIndex(1234, random, 99, 1);
+		assertEquals(sequence.nextLong(), random.nextLong());
+
+		sequence.setSeed(99);
+		for (int i = 0; i <= 1234; i++) { sequence.nextInt(5); }
+		Util.getRandomIntAtIndex(1234, random, 99, 5);
+		assertEquals(sequence.nextLong(), random.nextLong());
+	}
+
+	@Test
+	void utilNegativeIndexKeepsBaselineResult() {
+		Random random = new Random(), seeded = new Random(5);
+		assertEquals(-1, Util.getRandomFloatAtIndex(-3, random, 5, 1));
+		assertEquals(seeded.nextLong(), random.nextLong());
+	}
+}
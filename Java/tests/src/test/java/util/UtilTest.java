@@ -0,0 +1,47 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the spiral indices of {@link Util}
+ *
+ * @author Gareth Kmet
+ */
+class UtilTest {
+	@Test
+	void pointToSpiralKeepsBaselineValues() {
+		// x, y and the index of the int arithmetic, wrapped beyond about 23170
+		int[][] expected = { { 0, 0, 0 }, { 1, 0, 1 }, { 0, 1, 3 }, { -1, -1, 6 }, { 3, -2, 25 }, { -7, 5, 198 },
+				{ 23170, 23170, 2147349260 }, { 24000, -24000, -1990871296 }, { -40000, 25000, 2105047704 } };
+		for (int[] e : expected) { assertEquals(e[2], Util.pointToSpiral(e[0], e[1])); }
+	}
+
+	@Test
+	void pointToSpiralIsUnique() {
+		Set<Integer> seen = new HashSet<>();
+		for (int x = -50; x <= 50; x++) {
+			for (int y = -50; y <= 50; y++) { assertTrue(seen.add(Util.pointToSpiral(x, y))); }
+		}
+	}
+
+	@Test
+	void pointToSpiralLongExtendsTheIntIndex() {
+		for (int x = -300; x <= 300; x += 7) {
+			for (int y = -300; y <= 300; y += 11) {
+				assertEquals(Util.pointToSpiral(x, y), Util.pointToSpiralLong(x, y));
+			}
+		}
+		// Beyond the wrap the int index is the low bits of the long one
+		assertEquals(2304096000L, Util.pointToSpiralLong(24000, -24000));
+		assertEquals(Util.pointToSpiral(24000, -24000), (int) Util.pointToSpiralLong(24000, -24000));
+		assertThrows(IllegalArgumentException.class, () -> Util.pointToSpiralLong((1 << 30) + 1, 0));
+		assertThrows(IllegalArgumentException.class, () -> Util.pointToSpiralLong(0, Integer.MIN_VALUE));
+	}
+}
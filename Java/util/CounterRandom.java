@@ -0,0 +1,89 @@
+package util;
+
+/**
+ * Stateless counter-based random values <br>
+ * Each value is a SplitMix64 style hash of its coordinates, so any value can be
+ * drawn in a few nanoseconds without shared mutable state and the same
+ * coordinates always give the same value
+ *
+ * @author Gareth Kmet
+ */
+public final class CounterRandom {
+	/**
+	 * No initializing
+	 */
+	private CounterRandom() {}
+
+	/**
+	 * The golden ratio increment of SplitMix64
+	 */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * The SplitMix64 finalizer, a bijective avalanche of all 64 bits
+	 *
+	 * @param  z
+	 *           - the value to mix
+	 *
+	 * @return   <b><code>long</code></b> - the mixed value
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Hashes a lattice location into a random value
+	 *
+	 * @param  seed
+	 *                - the seed
+	 * @param  octave
+	 *                - the octave level
+	 * @param  x
+	 *                - the x location
+	 * @param  y
+	 *                - the y location
+	 * @param  stream
+	 *                - an index separating independent values of the same
+	 *                location
+	 *
+	 * @return        <b><code>long</code></b> - the random hash
+	 */
+	public static long hash(long seed, int octave, int x, int y, int stream) {
+		long h = mix(seed + GOLDEN_GAMMA);
+		h = mix(h + GOLDEN_GAMMA * (octave + 1));
+		h = mix(h + (((long) x << 32) | (y & 0xFFFFFFFFL)));
+		return mix(h + GOLDEN_GAMMA * (stream + 1));
+	}
+
+	/**
+	 * Converts a hash into a random float in <code>[0, bound)</code>
+	 *
+	 * @param  hash
+	 *               - the random hash
+	 * @param  bound
+	 *               - the bound of the random float
+	 *
+	 * @return       <b><code>float</code></b> - the random float
+	 */
+	public static float toFloat(long hash, float bound) {
+		float r = (hash >>> 40) * 0x1.0p-24f * bound;
+		if (r >= bound) { r = Math.nextDown(bound); }
+		return r;
+	}
+
+	/**
+	 * Converts a hash into a random int in <code>[0, bound)</code>
+	 *
+	 * @param  hash
+	 *               - the random hash
+	 * @param  bound
+	 *               - the bound of the random int, must be positive
+	 *
+	 * @return       <b><code>int</code></b> - the random int
+	 */
+	public static int toInt(long hash, int bound) {
+		return (int) (((hash >>> 32) * bound) >>> 32);
+	}
+}
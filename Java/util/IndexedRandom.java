@@ -0,0 +1,426 @@
+package util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Random access to the sequence of values produced by a freshly seeded
+ * {@link Random} <br>
+ * Instead of replaying the generator up to an index, the linear congruential
+ * state is jumped ahead directly in <code>O(log index)</code> steps. The
+ * values returned are bit-identical to those of
+ * <code>random.setSeed(seed)</code> followed by <code>index + 1</code> calls to
+ * the corresponding <code>next</code> method
+ * <p>
+ * {@link Random#nextInt(int)} may reject a draw and consume an extra step when
+ * the bound is not a power of two, so for such bounds the positions of the
+ * rejections before the index have to be found first. They are found once per
+ * seed and bound up to the largest index requested so far and remembered,
+ * later calls for lower or equal indices are <code>O(log index)</code>
+ * <ul>
+ * <li>Near the start of the sequence the rejections are found by a forward
+ * scan, which is <code>O(index)</code> and takes around a nanosecond per
+ * step</li>
+ * <li>Further along, when the bound rejects few enough of the
+ * <code>2^31</code> draws (<code>2^31 % bound</code> of them, up to 16), the
+ * position of every rejected state of the period is solved instead. This is
+ * independent of the index and takes up to a few hundred milliseconds, the
+ * first int of a new seed at any index is found within that time</li>
+ * <li>Bounds rejecting more draws always scan, so the first int of a new seed
+ * at the index <code>10^9</code> takes around a second, and indices past
+ * <code>10^12</code> are impractical</li>
+ * </ul>
+ * The rejections of the {@value #MAX_REJECTIONS} most recently used seeds and
+ * bounds are kept
+ * <p>
+ * Floats, and ints with a power of two bound, are always
+ * <code>O(log index)</code>
+ * <p>
+ * Instances are safe to share between threads
+ *
+ * @author Gareth Kmet
+ */
+public final class IndexedRandom {
+	/**
+	 * The constants of the linear congruential generator used by
+	 * {@link Random}
+	 */
+	private static final long MULTIPLIER = 0x5DEECE66DL, ADDEND = 0xBL, MASK = (1L << 48) - 1;
+
+	/**
+	 * The jump-ahead coefficients for <code>2^i</code> steps <br>
+	 * <code>state(n + 2^i) = JUMP_MULT[i] * state(n) + JUMP_ADD[i]</code>
+	 */
+	private static final long[] JUMP_MULT = new long[64], JUMP_ADD = new long[64];
+	static {
+		long m = MULTIPLIER, a = ADDEND;
+		for (int i = 0; i < 64; i++) {
+			JUMP_MULT[i] = m;
+			JUMP_ADD[i] = a;
+			a = (a * m + a) & MASK;
+			m = (m * m) & MASK;
+		}
+	}
+
+	/**
+	 * The number of seeds and bounds whose rejection positions are kept
+	 */
+	public static final int MAX_REJECTIONS = 64;
+
+	/**
+	 * The known rejection positions of {@link Random#nextInt(int)} for the most
+	 * recently used seeds and non power of two bounds, in access order
+	 */
+	private final Map<RejectionKey, Rejections> rejections = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<RejectionKey, Rejections> eldest) {
+			return size() > MAX_REJECTIONS;
+		}
+	};
+
+	/**
+	 * Gets the i-th random float of a given seed
+	 *
+	 * @param  index
+	 *               - the index to retrieve the float
+	 * @param  seed
+	 *               - the seed of the sequence
+	 * @param  bound
+	 *               - the bound of the random float
+	 *
+	 * @return       <b><code>float</code></b> - the i-th random float, equal
+	 *               to the i-th value of {@link Random#nextFloat(float)}
+	 *
+	 * @throws       IllegalArgumentException
+	 *               if the index is negative
+	 */
+	public float floatAtIndex(long index, long seed, float bound) {
+		checkIndex(index);
+		return nextFloat(jump(scramble(seed), index), bound);
+	}
+
+	/**
+	 * Gets the i-th random int of a given seed
+	 *
+	 * @param  index
+	 *               - the index to retrieve the int
+	 * @param  seed
+	 *               - the seed of the sequence
+	 * @param  bound
+	 *               - the bound of the random int
+	 *
+	 * @return       <b><code>int</code></b> - the i-th random int, equal to the
+	 *               i-th value of {@link Random#nextInt(int)}
+	 *
+	 * @throws       IllegalArgumentException
+	 *               if the index is negative
+	 */
+	public int intAtIndex(long index, long seed, int bound) {
+		checkIndex(index);
+		return nextInt(jump(scramble(seed), intStep(index, seed, bound)), bound);
+	}
+
+	/**
+	 * Moves a {@link Random} to the state it would have after the i-th random
+	 * float of a given seed
+	 *
+	 * @param random
+	 *               - the random generator to move
+	 * @param index
+	 *               - the index of the float
+	 * @param seed
+	 *               - the seed of the sequence
+	 */
+	void seekAfterFloat(Random random, long index, long seed) {
+		random.setSeed(jump(scramble(seed), index + 1) ^ MULTIPLIER);
+	}
+
+	/**
+	 * Moves a {@link Random} to the state it would have after the i-th random
+	 * int of a given seed
+	 *
+	 * @param random
+	 *               - the random generator to move
+	 * @param index
+	 *               - the index of the int
+	 * @param seed
+	 *               - the seed of the sequence
+	 * @param bound
+	 *               - the bound of the random int
+	 */
+	void seekAfterInt(Random random, long index, long seed, int bound) {
+		random.setSeed(jump(scramble(seed), intStep(index + 1, seed, bound)) ^ MULTIPLIER);
+	}
+
+	/**
+	 * Finds the step at which the i-th random int starts <br>
+	 * This is the index itself plus the number of rejected steps before it
+	 *
+	 * @param  index
+	 *               - the index of the int
+	 * @param  seed
+	 *               - the seed of the sequence
+	 * @param  bound
+	 *               - the bound of the random int
+	 *
+	 * @return       the number of steps to jump
+	 */
+	private long intStep(long index, long seed, int bound) {
+		if (bound <= 0) { throw new IllegalArgumentException("bound must be positive"); }
+		if ((bound & (bound - 1)) == 0) { return index; }
+
+		Rejections r;
+		synchronized (rejections) {
+			r = rejections.computeIfAbsent(new RejectionKey(seed, bound), k -> new Rejections(scramble(seed), bound));
+		}
+		return r.stepOf(index);
+	}
+
+	/**
+	 * Rejects a negative index
+	 */
+	private static void checkIndex(long index) {
+		if (index < 0) { throw new IllegalArgumentException("negative index " + index); }
+	}
+
+	/**
+	 * Applies the initial scramble of {@link Random#setSeed(long)}
+	 */
+	private static long scramble(long seed) {
+		return (seed ^ MULTIPLIER) & MASK;
+	}
+
+	/**
+	 * Advances a state by a number of steps in <code>O(log steps)</code>
+	 *
+	 * @param  state
+	 *               - the state to advance
+	 * @param  steps
+	 *               - the number of steps
+	 *
+	 * @return       the advanced state
+	 */
+	private static long jump(long state, long steps) {
+		for (int i = 0; steps != 0; i++, steps >>>= 1) {
+			if ((steps & 1) != 0) { state = (state * JUMP_MULT[i] + JUMP_ADD[i]) & MASK; }
+		}
+		return state;
+	}
+
+	/**
+	 * Advances a state by one step
+	 */
+	private static long step(long state) {
+		return (state * MULTIPLIER + ADDEND) & MASK;
+	}
+
+	/**
+	 * Reproduces {@link Random#nextFloat(float)} from a given state
+	 */
+	private static float nextFloat(long state, float bound) {
+		if (!(0 < bound && bound < Float.POSITIVE_INFINITY)) {
+			throw new IllegalArgumentException("bound must be finite and positive");
+		}
+		float r = (int) (step(state) >>> (48 - 24)) / ((float) (1 << 24));
+		r = r * bound;
+		if (r >= bound) { r = Math.nextDown(r); }
+		return r;
+	}
+
+	/**
+	 * Reproduces {@link Random#nextInt(int)} from a given state
+	 */
+	private static int nextInt(long state, int bound) {
+		state = step(state);
+		int r = (int) (state >>> (48 - 31));
+		int m = bound - 1;
+		if ((bound & m) == 0) {
+			r = (int) ((bound * (long) r) >> 31);
+		} else {
+			for (int u = r; u - (r = u % bound) + m < 0; u = (int) (state >>> (48 - 31))) { state = step(state); }
+		}
+		return r;
+	}
+
+	/**
+	 * Returns the smallest state whose 31 bit draw is rejected by
+	 * {@link Random#nextInt(int)} <br>
+	 * A draw <code>u</code> is rejected when <code>u - u % bound + (bound - 1)
+	 * </code> overflows, which is when <code>u</code> is at least the largest
+	 * multiple of the bound not above <code>2^31</code>
+	 */
+	private static long rejectionThreshold(int bound) {
+		long limit = (1L << 31) - (1L << 31) % bound;
+		return limit << (48 - 31);
+	}
+
+	/**
+	 * Key of the rejection positions
+	 */
+	private record RejectionKey(long seed, int bound) {}
+
+	/**
+	 * The steps of a seed's sequence whose 31 bit draw is rejected by
+	 * {@link Random#nextInt(int)} for a given bound <br>
+	 * The rejected steps repeat with the period <code>2^48</code> of the
+	 * generator, so only the positions within one period are kept, found
+	 * lazily up to the largest position requested. Lookups within the found
+	 * range read an immutable snapshot without locking
+	 *
+	 * @author Gareth Kmet
+	 */
+	private static final class Rejections {
+		/**
+		 * The largest number of rejected states in a period for which their
+		 * positions are solved instead of scanned
+		 */
+		private static final long MAX_SOLVED = 1L << 21;
+
+		/**
+		 * The cost of solving the position of a state, in scanned steps
+		 */
+		private static final long SOLVE_COST = 256;
+
+		/**
+		 * The smallest rejected state, see {@link #rejectionThreshold(int)}
+		 */
+		final long threshold;
+
+		/**
+		 * The number of rejected states in a period
+		 */
+		final long rejected;
+
+		/**
+		 * The state before the first step of the sequence
+		 */
+		final long start;
+		volatile Scan scan;
+
+		/**
+		 * A published scan of the sequence <br>
+		 * Only the first <code>count</code> positions are read, so the array
+		 * can be appended to by later scans
+		 */
+		private record Scan(long state, long scanned, long[] positions, int count) {}
+
+		Rejections(long state, int bound) {
+			this.scan = new Scan(state, 0, new long[4], 0);
+			this.threshold = rejectionThreshold(bound);
+			this.rejected = MASK + 1 - threshold;
+			this.start = state;
+		}
+
+		/**
+		 * Finds the step at which the i-th int starts, which is the smallest
+		 * <code>t</code> with <code>t = index + rejections before t</code>
+		 */
+		long stepOf(long index) {
+			long t = index;
+			while (true) {
+				long n = index + countBelow(t);
+				if (n == t) { return t; }
+				t = n;
+			}
+		}
+
+		/**
+		 * Counts the rejected steps before a step
+		 */
+		private long countBelow(long t) {
+			long periods = t >>> 48, u = t & MASK;
+			Scan s = scan;
+			if (s.scanned < u) { s = scanTo(u); }
+			int i = Arrays.binarySearch(s.positions, 0, s.count, u);
+			return periods * rejected + (i >= 0 ? i : -i - 1);
+		}
+
+		/**
+		 * Finds the rejected steps of the period up to a step (exclusive) <br>
+		 * Far along the sequence it is cheaper to solve the position of every
+		 * rejected state than to step through the sequence, see
+		 * {@link #solve(Scan, long)}. Otherwise the range is split into four
+		 * consecutive lanes which are stepped together, so the multiplications
+		 * of the lanes overlap instead of waiting on each other. Rejections
+		 * are rare, so the lanes are only told apart once one of them is
+		 * rejected
+		 */
+		private synchronized Scan scanTo(long end) {
+			Scan s = scan;
+			if (s.scanned >= end) { return s; }
+			if (rejected <= MAX_SOLVED && end - s.scanned > rejected * SOLVE_COST) {
+				// Solve ahead so that the next solve is only needed twice as far
+				return scan = solve(s, Math.min(MASK + 1, Math.max(end, 2 * s.scanned)));
+			}
+
+			long from = s.scanned, len = (end - from + 3) / 4;
+			long a = s.state, b = jump(a, len), c = jump(b, len), d = jump(c, len);
+			long[] positions = s.positions;
+			int count = s.count;
+			for (long j = 0; j < len; j++) {
+				a = step(a);
+				b = step(b);
+				c = step(c);
+				d = step(d);
+				if (a >= threshold | b >= threshold | c >= threshold | d >= threshold) {
+					long[] lanes = { a, b, c, d };
+					for (int k = 0; k < 4; k++) {
+						long i = from + k * len + j;
+						if (lanes[k] >= threshold && i < end) {
+							if (count == positions.length) { positions = Arrays.copyOf(positions, count * 2); }
+							positions[count++] = i;
+						}
+					}
+				}
+			}
+			// The lanes find their positions in step order but interleaved
+			Arrays.sort(positions, s.count, count);
+			return scan = new Scan(jump(s.state, end - from), end, positions, count);
+		}
+
+		/**
+		 * Finds the rejected steps up to a step (exclusive) by solving the
+		 * position of every rejected state of the period <br>
+		 * This is <code>O(rejected states)</code> whatever the end, instead of
+		 * the <code>O(end)</code> of a scan
+		 */
+		private Scan solve(Scan s, long end) {
+			long from = s.scanned;
+			long[] positions = s.positions;
+			int count = s.count;
+			for (long state = threshold; state <= MASK; state++) {
+				// The state drawn at a position is the one after its step
+				long i = (distance(start, state) - 1) & MASK;
+				if (from <= i && i < end) {
+					if (count == positions.length) { positions = Arrays.copyOf(positions, count * 2); }
+					positions[count++] = i;
+				}
+			}
+			Arrays.sort(positions, s.count, count);
+			return new Scan(jump(s.state, end - from), end, positions, count);
+		}
+
+		/**
+		 * Finds the number of steps from a state to another, in
+		 * <code>O(48)</code> <br>
+		 * The generator has the full period <code>2^k</code> on its lowest
+		 * <code>k</code> bits for every <code>k</code>, so a jump of
+		 * <code>2^k</code> steps keeps the lowest <code>k</code> bits and flips
+		 * the next one. The bits of the distance are found from the lowest up
+		 */
+		private static long distance(long from, long to) {
+			long n = 0;
+			for (int k = 0; k < 48; k++) {
+				// The bits differ at random, so the jump is selected without a branch
+				long flip = (from ^ to) >>> k & 1, jump = -flip;
+				from = (from * JUMP_MULT[k] + JUMP_ADD[k]) & MASK & jump | from & ~jump;
+				n |= flip << k;
+			}
+			return n;
+		}
+	}
+}
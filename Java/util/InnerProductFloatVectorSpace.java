@@ -98,4 +98,78 @@ public interface InnerProductFloatVectorSpace<T extends InnerProductFloatVectorS
 	public default T lerp(T b, float f) {
 		return b.scale(f).iadd(this.scale(1 - f));
 	}
+
+	/**
+	 * Lerps between this vector and another into a destination vector,
+	 * <code>f * b + (1 - f) * this</code> <br>
+	 * Spaces overriding this method write the result into <code>dst</code>
+	 * and return it without allocating. The default returns a new vector, so
+	 * the returned vector must always be used
+	 * 
+	 * @param  b
+	 *             The other vector
+	 * @param  f
+	 *             The lerping factor [0,1]
+	 * @param  dst
+	 *             The destination vector, which may be this or
+	 *             <code>b</code>
+	 * 
+	 * @return     The result, <code>dst</code> if overridden
+	 */
+	public default T lerpInto(T b, float f, T dst) {
+		return lerp(b, f);
+	}
+
+	/**
+	 * Computes a linear combination of this vector and another into a
+	 * destination vector, <code>s * this + t * b</code>, as two products
+	 * and a sum <br>
+	 * Spaces overriding this method write the result into <code>dst</code>
+	 * and return it without allocating. The default returns a new vector, so
+	 * the returned vector must always be used
+	 * 
+	 * @param  s
+	 *             The factor of this vector
+	 * @param  b
+	 *             The other vector
+	 * @param  t
+	 *             The factor of the other vector
+	 * @param  dst
+	 *             The destination vector, which may be this or
+	 *             <code>b</code>
+	 * 
+	 * @return     The result, <code>dst</code> if overridden
+	 */
+	public default T fmaInto(float s, T b, float t, T dst) {
+		return scale(s).iadd(b.scale(t));
+	}
+
+	/**
+	 * Returns the number of float coordinates of this vector <br>
+	 * Needed by the flat <code>float[]</code> outputs of the algorithms. A
+	 * space which is not made of float coordinates returns <code>0</code>, and
+	 * only supports the outputs of vectors, which is the default
+	 * 
+	 * @return The dimension, <code>0</code> if the space has no coordinates
+	 */
+	public default int size() {
+		return 0;
+	}
+
+	/**
+	 * Returns a float coordinate of this vector <br>
+	 * Needed by the flat <code>float[]</code> outputs of the algorithms. The
+	 * default has no coordinates
+	 * 
+	 * @param  i
+	 *           The index of the coordinate, less than {@link #size()}
+	 * 
+	 * @return   The coordinate
+	 * 
+	 * @throws   IndexOutOfBoundsException
+	 *           if <code>i</code> is not less than {@link #size()}
+	 */
+	public default float get(int i) {
+		throw new IndexOutOfBoundsException(i);
+	}
 }
@@ -11,9 +11,21 @@ public final class Util {
 	 */
 	private Util() {}
 
+	/**
+	 * The jump-ahead generator backing the indexed random methods
+	 */
+	private static final IndexedRandom INDEXED = new IndexedRandom();
+
+	/**
+	 * The largest coordinate of {@link #pointToSpiralLong(int, int)}
+	 */
+	private static final long MAX_SPIRAL = 1L << 30;
+
 	/**
 	 * Gets the i-th random float of a given seed <br>
-	 * Will reset the seed of the random generator beforehand but not after
+	 * Will leave the random generator in the state it would have after drawing
+	 * <code>index + 1</code> floats from the seed <br>
+	 * Runs in <code>O(log index)</code>, see {@link IndexedRandom}
 	 * 
 	 * @param  index
 	 *                - the index to retrieve the float
@@ -27,17 +39,22 @@ public final class Util {
 	 * @return        <b><code>float</code></b> - the i-th random float
 	 */
 	public static float getRandomFloatAtIndex(int index, Random random, long seed, float bound) {
-		random.setSeed(seed);
-		for (int i = 0; i <= index; i++) {
-			float f = random.nextFloat(bound);
-			if (i == index) { return f; }
+		if (index < 0) {
+			random.setSeed(seed);
+			return -1;
 		}
-		return -1; // DEAD CODE, only here to avoid syntax errors
+		float f = INDEXED.floatAtIndex(index, seed, bound);
+		INDEXED.seekAfterFloat(random, index, seed);
+		return f;
 	}
 
 	/**
 	 * Gets the i-th random int of a given seed <br>
-	 * Will reset the seed of the random generator beforehand but not after
+	 * Will leave the random generator in the state it would have after drawing
+	 * <code>index + 1</code> ints from the seed <br>
+	 * Runs in <code>O(log index)</code> for a power of two bound. Other bounds
+	 * first find the rejected draws of the seed up to the index, once per seed,
+	 * see {@link IndexedRandom} for their cost
 	 * 
 	 * @param  index
 	 *                - the index to retrieve the int
@@ -51,12 +68,13 @@ public final class Util {
 	 * @return        <b><code>float</code></b> - the i-th random float
 	 */
 	public static int getRandomIntAtIndex(int index, Random random, long seed, int bound) {
-		random.setSeed(seed);
-		for (int i = 0; i <= index; i++) {
-			int f = random.nextInt(bound);
-			if (i == index) { return f; }
+		if (index < 0) {
+			random.setSeed(seed);
+			return -1;
 		}
-		return -1; // DEAD CODE, only here to avoid syntax errors
+		int f = INDEXED.intAtIndex(index, seed, bound);
+		INDEXED.seekAfterInt(random, index, seed, bound);
+		return f;
 	}
 
 	/**
@@ -64,6 +82,10 @@ public final class Util {
 	 * location will result in a different index <br>
 	 * Taken from <a href=
 	 * "https://stackoverflow.com/questions/9970134/get-spiral-index-from-location">here</a>
+	 * <p>
+	 * The index is computed in <code>int</code> arithmetic, so it wraps around
+	 * once a coordinate is beyond about <code>23170</code> and can then be
+	 * negative. See {@link #pointToSpiralLong(int, int)} for the exact index
 	 * 
 	 * @param  x
 	 *           - The x location
@@ -85,6 +107,40 @@ public final class Util {
 		return p;
 	}
 
+	/**
+	 * Converts a Cartesian location into an index on a spiral, see
+	 * {@link #pointToSpiral(int, int)} <br>
+	 * The index is computed in <code>long</code> arithmetic, so it equals
+	 * {@link #pointToSpiral(int, int)} wherever that one does not wrap around,
+	 * and stays exact beyond
+	 * 
+	 * @param  x
+	 *           - The x location
+	 * @param  y
+	 *           - The y location
+	 * 
+	 * @return   <b><code>long</code></b> - the index of the location on the
+	 *           spiral
+	 *
+	 * @throws   IllegalArgumentException
+	 *           if a coordinate is beyond <code>&plusmn;2^30</code>, where
+	 *           the index would not fit in a <code>long</code>
+	 */
+	public static long pointToSpiralLong(int x, int y) {
+		if (Math.abs((long) x) > MAX_SPIRAL || Math.abs((long) y) > MAX_SPIRAL) {
+			throw new IllegalArgumentException("(" + x + "," + y + ") is too far for a spiral index");
+		}
+		long p;
+		if ((long) y * y >= (long) x * x) {
+			p = 4L * y * y - y - x;
+			if (y < x) { p -= 2L * (y - x); }
+		} else {
+			p = 4L * x * x - y - x;
+			if (y < x) { p += 2L * (y - x); }
+		}
+		return p;
+	}
+
 	/**
 	 * Lerps two values together with a smoothing function given a proportional
 	 * between 0-1. <br>
@@ -101,8 +157,43 @@ public final class Util {
 	 *              values
 	 */
 	public static <E extends InnerProductFloatVectorSpace<E>> E lerps(E val1, E val2, float aProp) {
-		float a = (float) (6 * Math.pow(aProp, 5) - 15 * Math.pow(aProp, 4) + 10 * Math.pow(aProp, 3));
-		return val1.lerp(val2, a);
+		return val1.lerp(val2, fade(aProp));
+	}
+
+	/**
+	 * Lerps two values together with a smoothing function into a destination
+	 * value, see {@link #lerps} and
+	 * {@link InnerProductFloatVectorSpace#lerpInto}
+	 * 
+	 * @param val1
+	 *              - the first value
+	 * @param val2
+	 *              - the second value
+	 * @param aProp
+	 *              - the linear proportion of the location between the two
+	 *              values
+	 * @param dst
+	 *              - the destination value
+	 * 
+	 * @return      the result, which must be used as it is only
+	 *              <code>dst</code> if the space overrides
+	 *              <code>lerpInto</code>
+	 */
+	public static <E extends InnerProductFloatVectorSpace<E>> E lerpsInto(E val1, E val2, float aProp, E dst) {
+		return val1.lerpInto(val2, fade(aProp), dst);
+	}
+
+	/**
+	 * The smoothing function used by {@link #lerps}, <code>6t^5 - 15t^4 +
+	 * 10t^3</code>
+	 * 
+	 * @param  aProp
+	 *               - the linear proportion between 0-1
+	 * 
+	 * @return       <b><code>float</code></b> - the smoothed proportion
+	 */
+	public static float fade(float aProp) {
+		return (float) (6 * Math.pow(aProp, 5) - 15 * Math.pow(aProp, 4) + 10 * Math.pow(aProp, 3));
 	}
 
 }
@@ -41,7 +41,7 @@ public final class Vector2v<E extends InnerProductFloatVectorSpace<E>> {
 	 * @return   the resulting <code>Vectornf</code>
 	 */
 	public static <E extends InnerProductFloatVectorSpace<E>> E dot(Vector2v<E> a, Vector2f b) {
-		return a.a.scale(b.x).iadd(a.b.scale(b.y));
+		return a.dot(b.x, b.y);
 	}
 
 	/**
@@ -56,6 +56,41 @@ public final class Vector2v<E extends InnerProductFloatVectorSpace<E>> {
 		return dot(this, b);
 	}
 
+	/**
+	 * Performs a dot product operation on this vector and the 2D vector
+	 * <code>(x,y)</code>
+	 * 
+	 * @param  x
+	 *           - the first component
+	 * @param  y
+	 *           - the second component
+	 * 
+	 * @return   the resulting <code>Vectornf</code>
+	 */
+	public E dot(float x, float y) {
+		return a.scale(x).iadd(b.scale(y));
+	}
+
+	/**
+	 * Performs a dot product operation on this vector and the 2D vector
+	 * <code>(x,y)</code> into a destination vector, see
+	 * {@link InnerProductFloatVectorSpace#fmaInto}
+	 * 
+	 * @param  x
+	 *             - the first component
+	 * @param  y
+	 *             - the second component
+	 * @param  dst
+	 *             - the destination vector
+	 * 
+	 * @return     the resulting <code>Vectornf</code>, which must be used as
+	 *             it is only <code>dst</code> if the space overrides
+	 *             <code>fmaInto</code>
+	 */
+	public E dotInto(float x, float y, E dst) {
+		return a.fmaInto(x, b, y, dst);
+	}
+
 	@Override
 	public String toString() {
 		return "Vector2v{\n         " + a.toString() + "\n         " + b.toString() + "\n}";
@@ -18,7 +18,7 @@ public sealed class Vectornf implements InnerProductFloatVectorSpace<Vectornf> p
 	/**
 	 * The components of the vector
 	 */
-	private final Float[] vec;
+	private final float[] vec;
 
 	/**
 	 * Generates a vector of dimension <code>vec.size()</code>
@@ -28,20 +28,35 @@ public sealed class Vectornf implements InnerProductFloatVectorSpace<Vectornf> p
 	 */
 	public Vectornf(ArrayList<Float> vec) {
 		this.size = vec.size();
-		this.vec = vec.toArray(new Float[size]);
+		this.vec = new float[size];
+		for (int i = 0; i < size; i++) { this.vec[i] = vec.get(i); }
 	}
 
 	/**
-	 * Generates a vector of dimension <code>vec.length</code>
+	 * Generates a vector of dimension <code>vec.length</code> <br>
+	 * The vector is backed by the given array
 	 * 
 	 * @param vec
 	 *            - the components of the vector
 	 */
-	public Vectornf(Float... vec) {
+	public Vectornf(float... vec) {
 		this.size = vec.length;
 		this.vec = vec;
 	}
 
+	/**
+	 * Generates a vector of dimension <code>vec.length</code> <br>
+	 * The components are unboxed into a new array
+	 * 
+	 * @param vec
+	 *            - the components of the vector
+	 */
+	public Vectornf(Float[] vec) {
+		this.size = vec.length;
+		this.vec = new float[size];
+		for (int i = 0; i < size; i++) { this.vec[i] = vec[i]; }
+	}
+
 	/**
 	 * Generates a vector with all equal components
 	 * 
@@ -53,7 +68,7 @@ public sealed class Vectornf implements InnerProductFloatVectorSpace<Vectornf> p
 	 * @return      the new vector
 	 */
 	public static Vectornf Const(int size, float f) {
-		Float[] fs = new Float[size];
+		float[] fs = new float[size];
 		Arrays.fill(fs, f);
 		return new Vectornf(fs);
 	}
@@ -67,8 +82,7 @@ public sealed class Vectornf implements InnerProductFloatVectorSpace<Vectornf> p
 	 * @return   the new vector
 	 */
 	public static Vectornf color(Color c) {
-		float[] f = c.getColorComponents(new float[3]);
-		return new Vectornf(f[0], f[1], f[2]);
+		return new Vectornf(c.getColorComponents(new float[3]));
 	}
 
 	/**
@@ -115,59 +129,144 @@ public sealed class Vectornf implements InnerProductFloatVectorSpace<Vectornf> p
 			throw new IllegalArgumentException(); }
 	}
 
+	/*
+	 * The operations below are unrolled for the dimensions 1 to 3, which are
+	 * the common ones, and loop otherwise
+	 */
+
 	@Override
 	public Vectornf add(Vectornf b) {
 		assertCompatable(this, b);
+		float[] v = vec, w = b.vec;
 
-		Float[] c = new Float[b.size];
-		for (int i = 0; i < b.size; i++) { c[i] = this.get(i) + b.get(i); }
+		switch (size) {
+			case 1: return new Vectornf(v[0] + w[0]);
+			case 2: return new Vectornf(v[0] + w[0], v[1] + w[1]);
+			case 3: return new Vectornf(v[0] + w[0], v[1] + w[1], v[2] + w[2]);
+		}
+		float[] c = new float[size];
+		for (int i = 0; i < size; i++) { c[i] = v[i] + w[i]; }
 		return new Vectornf(c);
 	}
 
 	@Override
 	public Vectornf iadd(Vectornf b) {
 		assertCompatable(this, b);
+		float[] v = vec, w = b.vec;
 
-		for (int i = 0; i < size; i++) { vec[i] += b.get(i); }
+		switch (size) {
+			case 1: {
+				v[0] += w[0];
+				return this;
+			}
+			case 2: {
+				v[0] += w[0];
+				v[1] += w[1];
+				return this;
+			}
+			case 3: {
+				v[0] += w[0];
+				v[1] += w[1];
+				v[2] += w[2];
+				return this;
+			}
+		}
+		for (int i = 0; i < size; i++) { v[i] += w[i]; }
 		return this;
 	}
 
 	@Override
 	public Vectornf sub(Vectornf b) {
 		assertCompatable(this, b);
+		float[] v = vec, w = b.vec;
 
-		Float[] c = new Float[b.size];
-		for (int i = 0; i < b.size; i++) { c[i] = this.get(i) - b.get(i); }
+		switch (size) {
+			case 1: return new Vectornf(v[0] - w[0]);
+			case 2: return new Vectornf(v[0] - w[0], v[1] - w[1]);
+			case 3: return new Vectornf(v[0] - w[0], v[1] - w[1], v[2] - w[2]);
+		}
+		float[] c = new float[size];
+		for (int i = 0; i < size; i++) { c[i] = v[i] - w[i]; }
 		return new Vectornf(c);
 	}
 
 	@Override
 	public Vectornf isub(Vectornf b) {
 		assertCompatable(this, b);
+		float[] v = vec, w = b.vec;
 
-		for (int i = 0; i < size; i++) { vec[i] -= b.get(i); }
+		switch (size) {
+			case 1: {
+				v[0] -= w[0];
+				return this;
+			}
+			case 2: {
+				v[0] -= w[0];
+				v[1] -= w[1];
+				return this;
+			}
+			case 3: {
+				v[0] -= w[0];
+				v[1] -= w[1];
+				v[2] -= w[2];
+				return this;
+			}
+		}
+		for (int i = 0; i < size; i++) { v[i] -= w[i]; }
 		return this;
 	}
 
 	@Override
 	public Vectornf scale(float b) {
-		Float[] c = new Float[this.size];
-		for (int i = 0; i < this.size; i++) { c[i] = this.get(i) * b; }
+		float[] v = vec;
+
+		switch (size) {
+			case 1: return new Vectornf(v[0] * b);
+			case 2: return new Vectornf(v[0] * b, v[1] * b);
+			case 3: return new Vectornf(v[0] * b, v[1] * b, v[2] * b);
+		}
+		float[] c = new float[size];
+		for (int i = 0; i < size; i++) { c[i] = v[i] * b; }
 		return new Vectornf(c);
 	}
 
 	@Override
 	public Vectornf iscale(float b) {
-		for (int i = 0; i < size; i++) { vec[i] *= b; }
+		float[] v = vec;
+
+		switch (size) {
+			case 1: {
+				v[0] *= b;
+				return this;
+			}
+			case 2: {
+				v[0] *= b;
+				v[1] *= b;
+				return this;
+			}
+			case 3: {
+				v[0] *= b;
+				v[1] *= b;
+				v[2] *= b;
+				return this;
+			}
+		}
+		for (int i = 0; i < size; i++) { v[i] *= b; }
 		return this;
 	}
 
 	@Override
 	public float dot(Vectornf b) {
 		assertCompatable(this, b);
-		float f = 0;
+		float[] v = vec, w = b.vec;
 
-		for (int i = 0; i < b.size; i++) { f += this.get(i) * b.get(i); }
+		switch (size) {
+			case 1: return v[0] * w[0];
+			case 2: return v[0] * w[0] + v[1] * w[1];
+			case 3: return v[0] * w[0] + v[1] * w[1] + v[2] * w[2];
+		}
+		float f = 0;
+		for (int i = 0; i < size; i++) { f += v[i] * w[i]; }
 		return f;
 	}
 
@@ -193,15 +292,77 @@ public sealed class Vectornf implements InnerProductFloatVectorSpace<Vectornf> p
 
 	@Override
 	public String toString() {
-		return "Vector" + size + "f " + Arrays.deepToString(vec);
+		return "Vector" + size + "f " + Arrays.toString(vec);
 	}
 
 	@Override
 	public Vectornf lerp(Vectornf b, float f) {
-		// TODO Auto-generated method stub
-		Float[] newVector = new Float[this.size];
-		for (int i = 0; i < this.size; i++) { newVector[i] = f * b.get(i) + (1 - f) * this.get(i); }
-		return new Vectornf(newVector);
+		float[] v = vec, w = b.vec;
+		float g = 1 - f;
+
+		switch (size) {
+			case 1: return new Vectornf(f * w[0] + g * v[0]);
+			case 2: return new Vectornf(f * w[0] + g * v[0], f * w[1] + g * v[1]);
+			case 3: return new Vectornf(f * w[0] + g * v[0], f * w[1] + g * v[1], f * w[2] + g * v[2]);
+		}
+		float[] c = new float[size];
+		for (int i = 0; i < size; i++) { c[i] = f * w[i] + g * v[i]; }
+		return new Vectornf(c);
+	}
+
+	@Override
+	public Vectornf lerpInto(Vectornf b, float f, Vectornf dst) {
+		assertCompatable(this, b);
+		assertCompatable(this, dst);
+		float[] v = vec, w = b.vec, c = dst.vec;
+		float g = 1 - f;
+
+		switch (size) {
+			case 1: {
+				c[0] = f * w[0] + g * v[0];
+				return dst;
+			}
+			case 2: {
+				c[0] = f * w[0] + g * v[0];
+				c[1] = f * w[1] + g * v[1];
+				return dst;
+			}
+			case 3: {
+				c[0] = f * w[0] + g * v[0];
+				c[1] = f * w[1] + g * v[1];
+				c[2] = f * w[2] + g * v[2];
+				return dst;
+			}
+		}
+		for (int i = 0; i < size; i++) { c[i] = f * w[i] + g * v[i]; }
+		return dst;
+	}
+
+	@Override
+	public Vectornf fmaInto(float s, Vectornf b, float t, Vectornf dst) {
+		assertCompatable(this, b);
+		assertCompatable(this, dst);
+		float[] v = vec, w = b.vec, c = dst.vec;
+
+		switch (size) {
+			case 1: {
+				c[0] = v[0] * s + w[0] * t;
+				return dst;
+			}
+			case 2: {
+				c[0] = v[0] * s + w[0] * t;
+				c[1] = v[1] * s + w[1] * t;
+				return dst;
+			}
+			case 3: {
+				c[0] = v[0] * s + w[0] * t;
+				c[1] = v[1] * s + w[1] * t;
+				c[2] = v[2] * s + w[2] * t;
+				return dst;
+			}
+		}
+		for (int i = 0; i < size; i++) { c[i] = v[i] * s + w[i] * t; }
+		return dst;
 	}
 
 }